@@ -0,0 +1,105 @@
+package com.example.parkingcontrol.benchmarks;
+
+import com.example.parkingcontrol.ParkingControlApplication;
+import com.example.parkingcontrol.models.CarModel;
+import com.example.parkingcontrol.services.CarService;
+import com.example.parkingcontrol.services.OptimisticRetry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read-modify-write updates of cars under optimistic locking, all threads writing to {@link #hotRows} rows. With one
+ * hot row every concurrent update conflicts; run it with {@code -t} to see throughput, retries and abandoned updates
+ * as writers are added.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ContentionBenchmark {
+    private static final String[] COLORS = {"Black", "Silver", "White", "Red"};
+
+    @Param({"1", "64"})
+    public int hotRows;
+
+    private ConfigurableApplicationContext context;
+
+    private CarService carService;
+
+    private OptimisticRetry optimisticRetry;
+
+    private final List<UUID> ids = new ArrayList<>();
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ParkingControlApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:contention;DB_CLOSE_DELAY=-1",
+                     "--spring.datasource.username=sa",
+                     "--spring.datasource.password=",
+                     "--spring.jpa.hibernate.ddl-auto=create-drop",
+                     "--logging.level.root=warn");
+        carService = context.getBean(CarService.class);
+        optimisticRetry = context.getBean(OptimisticRetry.class);
+
+        for (int i = 0; i < hotRows; i++) {
+            CarModel carModel = new CarModel();
+            carModel.setLicensePlate(String.format("C%07d", i));
+            carModel.setBrand("Toyota");
+            carModel.setModel("Etios");
+            carModel.setColor("Silver");
+            ids.add(carService.save(carModel).getId());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Outcomes {
+        public long retries;
+
+        public long abandoned;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            retries = 0;
+            abandoned = 0;
+        }
+    }
+
+    @Benchmark
+    public void updateColor(Outcomes outcomes) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        UUID id = ids.get(random.nextInt(ids.size()));
+        String color = COLORS[random.nextInt(COLORS.length)];
+        int[] attempts = {0};
+
+        try {
+            optimisticRetry.execute(() -> {
+                attempts[0]++;
+                CarModel carModel = carService.findById(id).orElseThrow();
+                carModel.setColor(color);
+
+                return carService.save(carModel);
+            });
+        } catch (OptimisticLockingFailureException e) {
+            outcomes.abandoned++;
+        }
+        outcomes.retries += attempts[0] - 1;
+    }
+}
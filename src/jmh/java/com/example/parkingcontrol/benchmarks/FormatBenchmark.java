@@ -0,0 +1,91 @@
+package com.example.parkingcontrol.benchmarks;
+
+import com.example.parkingcontrol.configs.DateConfig;
+import com.example.parkingcontrol.models.CarModel;
+import com.example.parkingcontrol.models.ParkingSpotModel;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and decoding a page of parking spots as JSON, Smile and CBOR, each through a mapper configured like the
+ * application's. The payload size of each format is printed once per fork.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FormatBenchmark {
+    private static final TypeReference<List<ParkingSpotModel>> PARKING_SPOTS = new TypeReference<>() {
+    };
+
+    @Param({"JSON", "SMILE", "CBOR"})
+    public String format;
+
+    @Param({"100"})
+    public int size;
+
+    private ObjectMapper objectMapper;
+
+    private List<ParkingSpotModel> parkingSpots;
+
+    private byte[] payload;
+
+    @Setup
+    public void setUp() throws IOException {
+        switch (format) {
+            case "SMILE":
+                objectMapper = DateConfig.configure(new SmileMapper());
+                break;
+            case "CBOR":
+                objectMapper = DateConfig.configure(new CBORMapper());
+                break;
+            default:
+                objectMapper = new DateConfig().objectMapper();
+        }
+
+        parkingSpots = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            CarModel carModel = new CarModel();
+            carModel.setId(UUID.randomUUID());
+            carModel.setLicensePlate(String.format("ABC-%04d", i));
+            carModel.setBrand("Toyota");
+            carModel.setModel("Etios");
+            carModel.setColor("Silver");
+
+            ParkingSpotModel parkingSpot = new ParkingSpotModel();
+            parkingSpot.setId(UUID.randomUUID());
+            parkingSpot.setSpotNumber(String.format("%03d-A", i));
+            parkingSpot.setRegistrationDate(LocalDateTime.parse("2022-09-03T10:15:30").plusMinutes(i));
+            parkingSpot.setOwner("Jade");
+            parkingSpot.setApartment(String.format("%03d", i));
+            parkingSpot.setBlock("A");
+            parkingSpot.setCar(carModel);
+            parkingSpots.add(parkingSpot);
+        }
+
+        payload = objectMapper.writeValueAsBytes(parkingSpots);
+        System.out.printf("%s payload: %d bytes for %d parking spots%n", format, payload.length, size);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return objectMapper.writeValueAsBytes(parkingSpots);
+    }
+
+    @Benchmark
+    public List<ParkingSpotModel> decode() throws IOException {
+        return objectMapper.readValue(payload, PARKING_SPOTS);
+    }
+}
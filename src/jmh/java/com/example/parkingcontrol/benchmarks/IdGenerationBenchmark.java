@@ -0,0 +1,89 @@
+package com.example.parkingcontrol.benchmarks;
+
+import com.example.parkingcontrol.models.TimeOrderedUuidGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Insert throughput of random (v4) against time-ordered (v7) primary keys into a table that already holds
+ * {@link #rows} rows, in batches the size of the configured Hibernate batch. Random keys spread every batch over the
+ * whole index while time-ordered ones append to its last page, so the gap widens as the table grows. Point
+ * {@code -Dloadtest.db.url} (plus {@code .username}/{@code .password}) at PostgreSQL to see the effect of a disk-backed
+ * B-tree; the in-memory H2 default only shows part of it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class IdGenerationBenchmark {
+    private static final int BATCH_SIZE = 50;
+
+    @Param({"random", "time-ordered"})
+    public String strategy;
+
+    @Param({"100000", "1000000"})
+    public int rows;
+
+    private Connection connection;
+
+    private PreparedStatement insert;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(System.getProperty("loadtest.db.url", "jdbc:h2:mem:ids"),
+                                                 System.getProperty("loadtest.db.username", "sa"),
+                                                 System.getProperty("loadtest.db.password", ""));
+        connection.setAutoCommit(false);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists id_generation_benchmark");
+            statement.execute("create table id_generation_benchmark (id uuid primary key, license_plate varchar(8))");
+        }
+        connection.commit();
+
+        insert = connection.prepareStatement("insert into id_generation_benchmark (id, license_plate) values (?, ?)");
+        for (int i = 0; i < rows / BATCH_SIZE; i++) {
+            insertBatch();
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table id_generation_benchmark");
+        }
+        connection.commit();
+        connection.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int[] insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, nextId());
+            insert.setString(2, "ABC-1234");
+            insert.addBatch();
+        }
+        int[] counts = insert.executeBatch();
+        connection.commit();
+
+        return counts;
+    }
+
+    @Benchmark
+    public UUID generate() {
+        return nextId();
+    }
+
+    private UUID nextId() {
+        return "random".equals(strategy) ? UUID.randomUUID() : TimeOrderedUuidGenerator.next();
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.parkingcontrol.benchmarks;
+
+import com.example.parkingcontrol.ParkingControlApplication;
+import com.example.parkingcontrol.models.CarModel;
+import com.example.parkingcontrol.models.ParkingSpotModel;
+import com.example.parkingcontrol.services.ParkingSpotService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Gate-rush load test: more concurrent clients than Tomcat has platform threads, each reading a parking spot by
+ * apartment over HTTP. Runs once per execution mode; compare the {@code thrpt} scores and the {@code p0.99}
+ * percentiles of the {@code sample} results between {@code virtualThreads=false} and {@code virtualThreads=true}.
+ * Point {@code -Dloadtest.db.url} (plus {@code .username}/{@code .password}) at PostgreSQL for realistic JDBC
+ * latency; the in-memory H2 default understates how long requests block.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(400)
+@Fork(1)
+public class LoadBenchmark {
+    private static final int PARKING_SPOTS = 1000;
+
+    @Param({"false", "true"})
+    public boolean virtualThreads;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient httpClient;
+
+    private String baseUrl;
+
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ParkingControlApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=" + System.getProperty("loadtest.db.url",
+                                                                "jdbc:h2:mem:load;DB_CLOSE_DELAY=-1"),
+                "--spring.datasource.username=" + System.getProperty("loadtest.db.username", "sa"),
+                "--spring.datasource.password=" + System.getProperty("loadtest.db.password", ""),
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--parking-control.virtual-threads.enabled=" + virtualThreads,
+                "--logging.level.root=warn");
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        ParkingSpotService parkingSpotService = context.getBean(ParkingSpotService.class);
+        for (int i = 0; i < PARKING_SPOTS; i++) {
+            CarModel carModel = new CarModel();
+            carModel.setLicensePlate(String.format("L%07d", i));
+            carModel.setBrand("Toyota");
+            carModel.setModel("Etios");
+            carModel.setColor("Silver");
+
+            ParkingSpotModel parkingSpot = new ParkingSpotModel();
+            parkingSpot.setSpotNumber(String.valueOf(i));
+            parkingSpot.setRegistrationDate(LocalDateTime.parse("2022-09-03T10:15:30").plusSeconds(i));
+            parkingSpot.setOwner("Owner " + i);
+            parkingSpot.setApartment(String.valueOf(i));
+            parkingSpot.setBlock("I");
+            parkingSpot.setCar(carModel);
+            parkingSpotService.save(parkingSpot);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int findByApartment() throws IOException, InterruptedException {
+        int apartment = sequence.getAndIncrement() % PARKING_SPOTS;
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + "/parking-spot/apartment?number=" + apartment))
+                                         .build();
+
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
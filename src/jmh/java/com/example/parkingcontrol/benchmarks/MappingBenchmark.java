@@ -0,0 +1,81 @@
+package com.example.parkingcontrol.benchmarks;
+
+import com.example.parkingcontrol.dtos.CarDTO;
+import com.example.parkingcontrol.dtos.ParkingSpotDTO;
+import com.example.parkingcontrol.mappers.CarMapperImpl;
+import com.example.parkingcontrol.mappers.ParkingSpotMapper;
+import com.example.parkingcontrol.mappers.ParkingSpotMapperImpl;
+import com.example.parkingcontrol.models.CarModel;
+import com.example.parkingcontrol.models.ParkingSpotModel;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.beans.BeanUtils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the reflective {@link BeanUtils#copyProperties} mapping the controllers used to do with the generated
+ * mappers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MappingBenchmark {
+    private ParkingSpotMapper parkingSpotMapper;
+
+    private ParkingSpotDTO parkingSpotDTO;
+
+    private ParkingSpotModel parkingSpot;
+
+    @Setup
+    public void setUp() {
+        parkingSpotMapper = new ParkingSpotMapperImpl(new CarMapperImpl());
+
+        CarDTO carDTO = new CarDTO();
+        carDTO.setLicensePlate("ABC-1234");
+        carDTO.setBrand("Toyota");
+        carDTO.setModel("Etios");
+        carDTO.setColor("Silver");
+
+        parkingSpotDTO = new ParkingSpotDTO();
+        parkingSpotDTO.setSpotNumber("701-A");
+        parkingSpotDTO.setOwner("Jade");
+        parkingSpotDTO.setApartment("701");
+        parkingSpotDTO.setBlock("I");
+        parkingSpotDTO.setCar(carDTO);
+
+        parkingSpot = new ParkingSpotModel();
+        parkingSpot.setCar(new CarModel());
+    }
+
+    @Benchmark
+    public ParkingSpotModel createWithBeanUtils() {
+        ParkingSpotModel model = new ParkingSpotModel();
+        BeanUtils.copyProperties(parkingSpotDTO, model);
+        return model;
+    }
+
+    @Benchmark
+    public ParkingSpotModel createWithMapper() {
+        return parkingSpotMapper.toModel(parkingSpotDTO);
+    }
+
+    @Benchmark
+    public ParkingSpotModel updateWithBeanUtils() {
+        CarModel carModel = new CarModel();
+        BeanUtils.copyProperties(parkingSpotDTO.getCar(), carModel);
+        carModel.setId(parkingSpot.getCar().getId());
+
+        BeanUtils.copyProperties(parkingSpotDTO, parkingSpot);
+        parkingSpot.setCar(carModel);
+        return parkingSpot;
+    }
+
+    @Benchmark
+    public ParkingSpotModel updateWithMapper() {
+        parkingSpotMapper.updateModel(parkingSpotDTO, parkingSpot);
+        return parkingSpot;
+    }
+}
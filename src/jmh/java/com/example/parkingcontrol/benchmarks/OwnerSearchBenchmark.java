@@ -0,0 +1,53 @@
+package com.example.parkingcontrol.benchmarks;
+
+import com.example.parkingcontrol.events.ChangeType;
+import com.example.parkingcontrol.events.ParkingSpotChangedEvent;
+import com.example.parkingcontrol.projections.CarView.ParkingSpotSummary;
+import com.example.parkingcontrol.services.OwnerIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the in-memory owner search over {@link #spots} parking spots, for an exact owner and for a three-letter
+ * autocomplete prefix returning a full page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OwnerSearchBenchmark {
+    private static final String[] FIRST_NAMES = {"Ana", "Bruno", "Carla", "Diego", "Elisa", "Felipe", "Jade", "Joao"};
+
+    @Param({"100000"})
+    public int spots;
+
+    private OwnerIndex ownerIndex;
+
+    @Setup
+    public void setUp() {
+        ownerIndex = new OwnerIndex(null);
+        LocalDateTime registrationDate = LocalDateTime.parse("2022-09-03T10:15:30");
+        for (int i = 0; i < spots; i++) {
+            String owner = FIRST_NAMES[i % FIRST_NAMES.length] + " " + i;
+            ownerIndex.onParkingSpotChanged(new ParkingSpotChangedEvent(ChangeType.CREATED, UUID.randomUUID(),
+                                                                        String.valueOf(i), null, registrationDate,
+                                                                        owner, String.valueOf(i), "A", null, null));
+        }
+    }
+
+    @Benchmark
+    public List<ParkingSpotSummary> exactOwner() {
+        return ownerIndex.findByOwner("jade 4206", 20);
+    }
+
+    @Benchmark
+    public List<ParkingSpotSummary> prefix() {
+        return ownerIndex.findByOwnerPrefix("jad", 20);
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.parkingcontrol.benchmarks;
+
+import com.example.parkingcontrol.configs.DateConfig;
+import com.example.parkingcontrol.models.CarModel;
+import com.example.parkingcontrol.models.ParkingSpotModel;
+import com.example.parkingcontrol.projections.ParkingSpotView;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response serialization through the application's {@link DateConfig#objectMapper()}, including its custom
+ * {@code LocalDateTime} serializer. {@code PATTERN} runs the same work through a reflective mapper that formats dates
+ * with a {@code DateTimeFormatter} pattern, for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+    private static final int PAGE_SIZE = 10_000;
+
+    @Param({"TUNED", "PATTERN"})
+    public String mapper;
+
+    private ObjectMapper objectMapper;
+
+    private ParkingSpotModel parkingSpot;
+
+    private ParkingSpotView parkingSpotView;
+
+    private List<ParkingSpotModel> parkingSpots;
+
+    @Setup
+    public void setUp() {
+        if ("PATTERN".equals(mapper)) {
+            JavaTimeModule module = new JavaTimeModule();
+            module.addSerializer(new LocalDateTimeSerializer(DateTimeFormatter.ofPattern(DateConfig.DATETIME_FORMAT)));
+            objectMapper = new ObjectMapper().registerModule(module);
+        } else {
+            objectMapper = new DateConfig().objectMapper();
+        }
+
+        CarModel carModel = new CarModel();
+        carModel.setId(UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c"));
+        carModel.setLicensePlate("ABC-1234");
+        carModel.setBrand("Toyota");
+        carModel.setModel("Etios");
+        carModel.setColor("Silver");
+
+        parkingSpot = new ParkingSpotModel();
+        parkingSpot.setId(UUID.fromString("0a96e04e-b60f-4b69-9524-e221cf341ccb"));
+        parkingSpot.setSpotNumber("701-A");
+        parkingSpot.setRegistrationDate(LocalDateTime.parse("2022-09-03T10:15:30"));
+        parkingSpot.setOwner("Jade");
+        parkingSpot.setApartment("701");
+        parkingSpot.setBlock("I");
+        parkingSpot.setCar(carModel);
+
+        parkingSpotView = new ParkingSpotView(parkingSpot.getId(), parkingSpot.getSpotNumber(),
+                                              parkingSpot.getRegistrationDate(), parkingSpot.getOwner(),
+                                              parkingSpot.getApartment(), parkingSpot.getBlock(),
+                                              parkingSpot.getVersion(), carModel.getId(), carModel.getLicensePlate(),
+                                              carModel.getBrand(), carModel.getModel(), carModel.getColor(),
+                                              carModel.getVersion());
+
+        parkingSpots = new ArrayList<>(PAGE_SIZE);
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            CarModel car = new CarModel();
+            car.setId(UUID.randomUUID());
+            car.setLicensePlate(String.format("ABC-%04d", i));
+            car.setBrand("Toyota");
+            car.setModel("Etios");
+            car.setColor("Silver");
+
+            ParkingSpotModel row = new ParkingSpotModel();
+            row.setId(UUID.randomUUID());
+            row.setSpotNumber(String.format("%04d-A", i));
+            row.setRegistrationDate(LocalDateTime.parse("2022-09-03T10:15:30").plusSeconds(i));
+            row.setOwner("Jade");
+            row.setApartment(String.format("%04d", i));
+            row.setBlock("A");
+            row.setCar(car);
+            parkingSpots.add(row);
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeParkingSpotModel() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(parkingSpot);
+    }
+
+    @Benchmark
+    public byte[] serializeParkingSpotView() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(parkingSpotView);
+    }
+
+    // Streams like a response body does, so the score is not spent growing a byte array
+    @Benchmark
+    public void serializeParkingSpotModels() throws IOException {
+        objectMapper.writeValue(OutputStream.nullOutputStream(), parkingSpots);
+    }
+}
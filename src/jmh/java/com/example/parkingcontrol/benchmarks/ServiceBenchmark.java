@@ -0,0 +1,100 @@
+package com.example.parkingcontrol.benchmarks;
+
+import com.example.parkingcontrol.ParkingControlApplication;
+import com.example.parkingcontrol.dtos.CursorPageDTO;
+import com.example.parkingcontrol.models.CarModel;
+import com.example.parkingcontrol.models.ParkingSpotModel;
+import com.example.parkingcontrol.projections.ParkingSpotView;
+import com.example.parkingcontrol.services.CarService;
+import com.example.parkingcontrol.services.ParkingSpotService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The service layer against an in-memory H2 database seeded with {@link #PARKING_SPOTS} parked cars. The context
+ * runs without the web server, so the numbers cover the services, Spring Data, Hibernate and the JDBC driver.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServiceBenchmark {
+    private static final int PARKING_SPOTS = 1000;
+
+    private ConfigurableApplicationContext context;
+
+    private CarService carService;
+
+    private ParkingSpotService parkingSpotService;
+
+    private int sequence;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ParkingControlApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                     "--spring.datasource.username=sa",
+                     "--spring.datasource.password=",
+                     "--spring.jpa.hibernate.ddl-auto=create-drop",
+                     "--logging.level.root=warn");
+        carService = context.getBean(CarService.class);
+        parkingSpotService = context.getBean(ParkingSpotService.class);
+
+        for (int i = 0; i < PARKING_SPOTS; i++) {
+            CarModel carModel = new CarModel();
+            carModel.setLicensePlate(String.format("B%07d", i));
+            carModel.setBrand("Toyota");
+            carModel.setModel("Etios");
+            carModel.setColor("Silver");
+
+            ParkingSpotModel parkingSpot = new ParkingSpotModel();
+            parkingSpot.setSpotNumber(String.valueOf(i));
+            parkingSpot.setRegistrationDate(LocalDateTime.parse("2022-09-03T10:15:30").plusSeconds(i));
+            parkingSpot.setOwner("Owner " + i);
+            parkingSpot.setApartment(String.valueOf(i));
+            parkingSpot.setBlock("I");
+            parkingSpot.setCar(carModel);
+            parkingSpotService.save(parkingSpot);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CursorPageDTO<ParkingSpotView> findFirstPage() {
+        return parkingSpotService.findPage(null, 20);
+    }
+
+    @Benchmark
+    public Optional<ParkingSpotView> findByApartment() {
+        return parkingSpotService.findByApartment(String.valueOf(sequence++ % PARKING_SPOTS));
+    }
+
+    @Benchmark
+    public Optional<ParkingSpotView> findBySpotNumberCached() {
+        return parkingSpotService.findBySpotNumber(String.valueOf(sequence++ % PARKING_SPOTS));
+    }
+
+    @Benchmark
+    public void saveAndDeleteCar() {
+        CarModel carModel = new CarModel();
+        carModel.setLicensePlate("NEW-1234");
+        carModel.setBrand("Audi");
+        carModel.setModel("A1");
+        carModel.setColor("Black");
+
+        carService.delete(carService.save(carModel).getId());
+    }
+}
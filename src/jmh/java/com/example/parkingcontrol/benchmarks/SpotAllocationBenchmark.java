@@ -0,0 +1,66 @@
+package com.example.parkingcontrol.benchmarks;
+
+import com.example.parkingcontrol.events.ChangeType;
+import com.example.parkingcontrol.events.ParkingSpotChangedEvent;
+import com.example.parkingcontrol.services.OccupancyIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Throughput of claiming and releasing free spots in the {@link OccupancyIndex}, with all threads allocating in one
+ * block or spread over {@link #blocks} blocks. Run it with {@code -t} to compare thread counts.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SpotAllocationBenchmark {
+    @Param({"1", "16"})
+    public int blocks;
+
+    @Param({"500"})
+    public int spotsPerBlock;
+
+    private OccupancyIndex occupancyIndex;
+
+    private final AtomicInteger threads = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        occupancyIndex = new OccupancyIndex(null, event -> {
+        });
+        LocalDateTime registrationDate = LocalDateTime.parse("2022-09-03T10:15:30");
+        for (int block = 0; block < blocks; block++) {
+            for (int i = 0; i < spotsPerBlock; i++) {
+                String spotNumber = i + "-" + block;
+                occupancyIndex.onParkingSpotChanged(new ParkingSpotChangedEvent(
+                        ChangeType.CREATED, UUID.randomUUID(), spotNumber, null, registrationDate, "Jade",
+                        spotNumber, "B" + block, null, null));
+            }
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class ThreadBlock {
+        String block;
+
+        @Setup
+        public void setUp(SpotAllocationBenchmark benchmark) {
+            block = "B" + benchmark.threads.getAndIncrement() % benchmark.blocks;
+        }
+    }
+
+    @Benchmark
+    public UUID claimAndRelease(ThreadBlock threadBlock) {
+        UUID parkingSpotId = occupancyIndex.claimFreeSpot(threadBlock.block).orElseThrow();
+        occupancyIndex.releaseClaim(threadBlock.block, parkingSpotId);
+
+        return parkingSpotId;
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.parkingcontrol.benchmarks;
+
+import com.example.parkingcontrol.ParkingControlApplication;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Cold start of a new replica: launches the application in a fresh JVM and measures the time until
+ * {@code GET /parking-spot} first answers 200, which includes every bean a lazy context still has to create for it.
+ * Compares the default and {@code fast-startup} profiles, each with and without a class-data sharing archive recorded
+ * by a training run.
+ * <p>
+ * Every launch reads from the same database, whose schema is created by the training run. It is a file-based H2
+ * database unless {@code -Dloadtest.db.url} (plus {@code .username}/{@code .password}) points at PostgreSQL.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StartupBenchmark {
+    private static final Duration TIMEOUT = Duration.ofMinutes(2);
+
+    @Param({"default", "fast-startup"})
+    public String profile;
+
+    @Param({"false", "true"})
+    public boolean cds;
+
+    private Path directory;
+
+    private String classpath;
+
+    private Path archive;
+
+    private HttpClient httpClient;
+
+    private Process process;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, InterruptedException {
+        directory = Files.createTempDirectory("startup-benchmark");
+        classpath = jarClasspath();
+        archive = directory.resolve("parking-control.jsa");
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        List<String> training = command(cds ? "-XX:ArchiveClassesAtExit=" + archive : "-Xshare:auto", 0);
+        training.add("--spring.jpa.hibernate.ddl-auto=update");
+        training.add("--parking-control.startup.exit-when-ready=true");
+        Process run = start(training, "training.log");
+        if (!run.waitFor(TIMEOUT.toMillis(), TimeUnit.MILLISECONDS) || run.exitValue() != 0) {
+            run.destroyForcibly();
+            throw new IllegalStateException("Training run failed, see " + directory.resolve("training.log"));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void stop() throws InterruptedException {
+        process.destroy();
+        if (!process.waitFor(30, TimeUnit.SECONDS)) {
+            process.destroyForcibly().waitFor();
+        }
+    }
+
+    @Benchmark
+    public int timeToFirstRequest() throws IOException, InterruptedException {
+        int port = freePort();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/parking-spot")).build();
+
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        process = start(command(cds ? "-XX:SharedArchiveFile=" + archive : "-Xshare:auto", port), "run.log");
+        while (System.nanoTime() < deadline && process.isAlive()) {
+            try {
+                int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                if (status == 200) {
+                    return status;
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(20);
+        }
+
+        throw new IllegalStateException("No successful request, see " + directory.resolve("run.log"));
+    }
+
+    private List<String> command(String share, int port) {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add(share);
+        command.add("-classpath");
+        command.add(classpath);
+        command.add(ParkingControlApplication.class.getName());
+        command.add("--server.port=" + port);
+        command.add("--spring.profiles.active=" + profile);
+        command.add("--spring.datasource.url=" + System.getProperty(
+                "loadtest.db.url", "jdbc:h2:file:" + directory.resolve("db") + ";DB_CLOSE_ON_EXIT=FALSE"));
+        command.add("--spring.datasource.username=" + System.getProperty("loadtest.db.username", "sa"));
+        command.add("--spring.datasource.password=" + System.getProperty("loadtest.db.password", ""));
+        if (System.getProperty("loadtest.db.url") == null) {
+            command.add("--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect");
+        }
+        // WarmUpBenchmark covers what comes after startup
+        command.add("--parking-control.warm-up.enabled=false");
+        command.add("--logging.level.root=warn");
+
+        return command;
+    }
+
+    private Process start(List<String> command, String log) throws IOException {
+        return new ProcessBuilder(command).redirectErrorStream(true)
+                                          .redirectOutput(directory.resolve(log).toFile())
+                                          .start();
+    }
+
+    // Class-data sharing only archives classes loaded from jars, so directories on the classpath are packed first
+    private String jarClasspath() throws IOException {
+        List<String> entries = new ArrayList<>();
+        for (String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+            Path path = Path.of(entry);
+            if (Files.isDirectory(path)) {
+                Path jar = directory.resolve(entries.size() + ".jar");
+                pack(path, jar);
+                entries.add(jar.toString());
+            } else {
+                entries.add(entry);
+            }
+        }
+
+        return String.join(File.pathSeparator, entries);
+    }
+
+    // Directory entries are kept, since component scanning lists the packages through them
+    private static void pack(Path source, Path jar) throws IOException {
+        List<Path> paths;
+        try (Stream<Path> walk = Files.walk(source)) {
+            paths = walk.filter(path -> !path.equals(source)).collect(Collectors.toList());
+        }
+
+        try (OutputStream out = Files.newOutputStream(jar); JarOutputStream jarOut = new JarOutputStream(out)) {
+            for (Path path : paths) {
+                String name = source.relativize(path).toString().replace(File.separatorChar, '/');
+                if (Files.isDirectory(path)) {
+                    jarOut.putNextEntry(new JarEntry(name + "/"));
+                } else {
+                    jarOut.putNextEntry(new JarEntry(name));
+                    Files.copy(path, jarOut);
+                }
+                jarOut.closeEntry();
+            }
+        }
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
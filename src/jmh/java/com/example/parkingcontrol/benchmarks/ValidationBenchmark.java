@@ -0,0 +1,76 @@
+package com.example.parkingcontrol.benchmarks;
+
+import com.example.parkingcontrol.dtos.CarDTO;
+import com.example.parkingcontrol.dtos.ParkingSpotDTO;
+import org.openjdk.jmh.annotations.*;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validation;
+import javax.validation.Validator;
+import javax.validation.ValidatorFactory;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bean validation of the request bodies, as run by {@code @Valid} on every create and update.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ValidationBenchmark {
+    private ValidatorFactory validatorFactory;
+
+    private Validator validator;
+
+    private CarDTO carDTO;
+
+    private CarDTO invalidCarDTO;
+
+    private ParkingSpotDTO parkingSpotDTO;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+
+        carDTO = new CarDTO();
+        carDTO.setLicensePlate("ABC-1234");
+        carDTO.setBrand("Toyota");
+        carDTO.setModel("Etios");
+        carDTO.setColor("Silver");
+
+        invalidCarDTO = new CarDTO();
+        invalidCarDTO.setLicensePlate("ABC");
+        invalidCarDTO.setBrand("");
+
+        parkingSpotDTO = new ParkingSpotDTO();
+        parkingSpotDTO.setSpotNumber("701-A");
+        parkingSpotDTO.setOwner("Jade");
+        parkingSpotDTO.setApartment("701");
+        parkingSpotDTO.setBlock("I");
+        parkingSpotDTO.setCar(carDTO);
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CarDTO>> validateCar() {
+        return validator.validate(carDTO);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<CarDTO>> validateInvalidCar() {
+        return validator.validate(invalidCarDTO);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<ParkingSpotDTO>> validateParkingSpot() {
+        return validator.validate(parkingSpotDTO);
+    }
+}
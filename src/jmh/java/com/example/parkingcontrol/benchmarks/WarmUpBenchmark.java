@@ -0,0 +1,95 @@
+package com.example.parkingcontrol.benchmarks;
+
+import com.example.parkingcontrol.ParkingControlApplication;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Latency of the first minute of traffic after startup, with and without the warm-up that runs before readiness.
+ * Every fork is a fresh JVM, so nothing is compiled before the application starts, and JMH itself does not warm up.
+ * Compare the {@code p0.99} percentiles of {@code warmUp=false} and {@code warmUp=true}.
+ * <p>
+ * The requests read existing cars and parking spots, which are inserted through plain JDBC after startup so that
+ * seeding does not warm up the request path either.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1, time = 60)
+@Fork(3)
+public class WarmUpBenchmark {
+    private static final int PARKING_SPOTS = 1000;
+
+    @Param({"false", "true"})
+    public boolean warmUp;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient httpClient;
+
+    private List<HttpRequest> requests;
+
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(ParkingControlApplication.class).run(
+                "--server.port=0",
+                "--spring.datasource.url=jdbc:h2:mem:warm-up;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--parking-control.warm-up.enabled=" + warmUp,
+                "--logging.level.root=warn");
+        String baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        requests = new ArrayList<>();
+        requests.add(HttpRequest.newBuilder(URI.create(baseUrl + "/parking-spot?limit=20")).build());
+        requests.add(HttpRequest.newBuilder(URI.create(baseUrl + "/cars?limit=20")).build());
+        for (int i = 0; i < PARKING_SPOTS; i++) {
+            UUID parkingSpotId = UUID.randomUUID();
+            UUID carId = UUID.randomUUID();
+            jdbcTemplate.update("insert into parking_spot (id, spot_number, registration_date, owner, apartment, block,"
+                                + " version) values (?, ?, ?, ?, ?, ?, 0)",
+                                parkingSpotId, i + "-I", Timestamp.valueOf(LocalDateTime.parse("2022-09-03T10:15:30")),
+                                "Owner " + i, String.valueOf(i), "I");
+            jdbcTemplate.update("insert into car (id, license_plate, brand, model, color, parking_spot_id, version)"
+                                + " values (?, ?, 'Toyota', 'Etios', 'Silver', ?, 0)",
+                                carId, String.format("L%07d", i), parkingSpotId);
+
+            requests.add(HttpRequest.newBuilder(URI.create(baseUrl + "/parking-spot/" + parkingSpotId)).build());
+            requests.add(HttpRequest.newBuilder(URI.create(baseUrl + "/cars/" + carId)).build());
+            requests.add(HttpRequest.newBuilder(URI.create(baseUrl + "/parking-spot/apartment?number=" + i)).build());
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int firstMinute() throws IOException, InterruptedException {
+        HttpRequest request = requests.get(sequence.getAndIncrement() % requests.size());
+
+        return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.parkingcontrol.configs;
+
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Smile ({@code application/x-jackson-smile}) and CBOR ({@code application/cbor}) next to JSON, for the machine
+ * clients that ask for them through {@code Accept} or send them as {@code Content-Type}. Both map objects exactly
+ * like the JSON mapper of {@link DateConfig}; JSON stays the default.
+ */
+@Configuration
+public class BinaryFormatConfig {
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter() {
+        return new MappingJackson2SmileHttpMessageConverter(DateConfig.configure(new SmileMapper()));
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter() {
+        return new MappingJackson2CborHttpMessageConverter(DateConfig.configure(new CBORMapper()));
+    }
+}
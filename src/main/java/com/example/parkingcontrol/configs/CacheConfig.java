@@ -0,0 +1,34 @@
+package com.example.parkingcontrol.configs;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    public static final String CARS_BY_LICENSE_PLATE = "carsByLicensePlate";
+    public static final String PARKING_SPOTS_BY_SPOT_NUMBER = "parkingSpotsBySpotNumber";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${parking-control.cache.lookup-spec:maximumSize=10000,expireAfterWrite=10m,recordStats}")
+            String lookupSpec
+    ) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager(CARS_BY_LICENSE_PLATE,
+                                                                     PARKING_SPOTS_BY_SPOT_NUMBER) {
+            @Override
+            protected Cache adaptCaffeineCache(String name,
+                                               com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return new GuardedCaffeineCache(name, cache, isAllowNullValues());
+            }
+        };
+        cacheManager.setCacheSpecification(lookupSpec);
+
+        return cacheManager;
+    }
+}
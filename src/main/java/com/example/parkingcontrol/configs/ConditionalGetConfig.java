@@ -0,0 +1,29 @@
+package com.example.parkingcontrol.configs;
+
+import com.example.parkingcontrol.services.ChangeCounter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Conditional GETs on the car and parking spot reads. The occupancy stream is left out, as it never completes, and so
+ * are the reads by id, which the controllers tag with the versions of what they return.
+ */
+@Configuration
+public class ConditionalGetConfig {
+    // Matches UUIDs, but none of the named paths next to them
+    private static final String ID = "{id:[0-9a-fA-F-]+}";
+
+    @Bean
+    public WebMvcConfigurer conditionalGetConfigurer(ChangeCounter changeCounter) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new ConditionalGetInterceptor(changeCounter))
+                        .addPathPatterns("/cars/**", "/parking-spot/**")
+                        .excludePathPatterns("/parking-spot/occupancy/stream", "/cars/" + ID, "/parking-spot/" + ID);
+            }
+        };
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.parkingcontrol.configs;
+
+import com.example.parkingcontrol.services.ChangeCounter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Tags every list and search read with the {@link ChangeCounter} and answers a matching {@code If-None-Match} with 304
+ * Not Modified before the handler runs, so an unchanged poll costs one lookup of the counter instead of the query
+ * and serialization.
+ * <p>
+ * JSON, Smile and CBOR bodies share the tag, so responses vary by {@code Accept}.
+ */
+public class ConditionalGetInterceptor implements HandlerInterceptor {
+    private final ChangeCounter changeCounter;
+
+    public ConditionalGetInterceptor(ChangeCounter changeCounter) {
+        this.changeCounter = changeCounter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!"GET".equals(request.getMethod()) && !"HEAD".equals(request.getMethod())) {
+            return true;
+        }
+
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+
+        return !new ServletWebRequest(request, response).checkNotModified(changeCounter.etag());
+    }
+}
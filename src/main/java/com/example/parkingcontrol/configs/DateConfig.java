@@ -2,25 +2,32 @@ package com.example.parkingcontrol.configs;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
-import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 
-import java.time.format.DateTimeFormatter;
-
 @Configuration
 public class DateConfig {
     public static final String DATETIME_FORMAT = "yyyy-MM-dd'T'HH:mm:ss'Z'";
-    public static LocalDateTimeSerializer LOCAL_DATETIME_SERIALIZER = new LocalDateTimeSerializer(
-            DateTimeFormatter.ofPattern(DATETIME_FORMAT));
+    public static final UtcLocalDateTimeSerializer LOCAL_DATETIME_SERIALIZER = new UtcLocalDateTimeSerializer();
 
     @Bean
     @Primary
     public ObjectMapper objectMapper() {
+        return configure(new ObjectMapper());
+    }
+
+    /**
+     * Applies the settings of the JSON mapper to a mapper of any format: its date and time rules, and Blackbird, which
+     * replaces reflective getter, setter and constructor calls with generated lambdas.
+     */
+    public static <T extends ObjectMapper> T configure(T objectMapper) {
         JavaTimeModule module = new JavaTimeModule();
         module.addSerializer(LOCAL_DATETIME_SERIALIZER);
+        objectMapper.registerModule(module);
+        objectMapper.registerModule(new BlackbirdModule());
 
-        return new ObjectMapper().registerModule(module);
+        return objectMapper;
     }
 }
@@ -0,0 +1,82 @@
+package com.example.parkingcontrol.configs;
+
+import com.example.parkingcontrol.models.CarModel;
+import com.example.parkingcontrol.models.ParkingSpotModel;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+/**
+ * Hibernate's second-level cache for cars and parking spots, and its query cache for the license plate and spot
+ * number lookups, held in Caffeine through JCache. Cached entities are replaced when a write through the services
+ * commits, and a write to either table invalidates every cached query result that reads it.
+ * <p>
+ * Each region has its own size and time to live. The update timestamps region, which records when each table last
+ * changed, is never bounded: losing one of its entries would let a stale query result through.
+ */
+@Configuration
+public class EntityCacheConfig {
+    @Bean(destroyMethod = "close")
+    public CacheManager entityCacheManager(
+            @Value("${parking-control.entity-cache.cars.maximum-size:10000}") long carsMaximumSize,
+            @Value("${parking-control.entity-cache.cars.time-to-live:10m}") Duration carsTimeToLive,
+            @Value("${parking-control.entity-cache.parking-spots.maximum-size:10000}") long parkingSpotsMaximumSize,
+            @Value("${parking-control.entity-cache.parking-spots.time-to-live:10m}") Duration parkingSpotsTimeToLive,
+            @Value("${parking-control.entity-cache.queries.maximum-size:10000}") long queriesMaximumSize,
+            @Value("${parking-control.entity-cache.queries.time-to-live:10m}") Duration queriesTimeToLive
+    ) {
+        // The provider hands out one manager per URI, so each application context gets its own
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                                           .getCacheManager(URI.create("parking-control-" + UUID.randomUUID()),
+                                                            getClass().getClassLoader());
+
+        cacheManager.createCache(CarModel.CACHE_REGION, region(carsMaximumSize, carsTimeToLive));
+        cacheManager.createCache(ParkingSpotModel.CACHE_REGION, region(parkingSpotsMaximumSize,
+                                                                       parkingSpotsTimeToLive));
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME,
+                                 region(queriesMaximumSize, queriesTimeToLive));
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, unbounded());
+
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer entityCacheProperties(CacheManager entityCacheManager) {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, entityCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maximumSize, Duration timeToLive) {
+        CaffeineConfiguration<Object, Object> configuration = unbounded();
+        configuration.setMaximumSize(OptionalLong.of(maximumSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(timeToLive.toNanos()));
+
+        return configuration;
+    }
+
+    // Hibernate only stores immutable entries, so they need not be copied on the way in and out
+    private static CaffeineConfiguration<Object, Object> unbounded() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+
+        return configuration;
+    }
+}
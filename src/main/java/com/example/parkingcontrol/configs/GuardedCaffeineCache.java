@@ -0,0 +1,90 @@
+package com.example.parkingcontrol.configs;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caffeine cache that drops a value looked up before the latest eviction. A lookup that missed and read the database
+ * before a write committed would otherwise put the old value back right after the write evicted it.
+ */
+class GuardedCaffeineCache extends CaffeineCache {
+    private final AtomicLong evictions = new AtomicLong();
+
+    private final ThreadLocal<Miss> lastMiss = new ThreadLocal<>();
+
+    GuardedCaffeineCache(String name, Cache<Object, Object> cache, boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        long evictionCount = evictions.get();
+        Object value = super.lookup(key);
+        if (value == null) {
+            lastMiss.set(new Miss(key, evictionCount));
+        }
+
+        return value;
+    }
+
+    /**
+     * Stores the value unless something was evicted since this thread missed the key. The check runs under the lock
+     * of the key, so an eviction of the same key either comes first and wins, or comes after and removes the value.
+     */
+    @Override
+    public void put(Object key, Object value) {
+        Miss miss = lastMiss.get();
+        lastMiss.remove();
+        if (miss == null || !miss.key.equals(key)) {
+            super.put(key, value);
+            return;
+        }
+
+        Object storeValue = toStoreValue(value);
+        getNativeCache().asMap().compute(key, (k, current) -> evictions.get() == miss.evictionCount
+                                                             ? storeValue
+                                                             : current);
+    }
+
+    @Override
+    public void evict(Object key) {
+        evictIfPresent(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        boolean[] present = new boolean[1];
+        getNativeCache().asMap().compute(key, (k, current) -> {
+            evictions.incrementAndGet();
+            present[0] = current != null;
+            return null;
+        });
+
+        return present[0];
+    }
+
+    @Override
+    public void clear() {
+        invalidate();
+    }
+
+    @Override
+    public boolean invalidate() {
+        evictions.incrementAndGet();
+
+        return super.invalidate();
+    }
+
+    private static final class Miss {
+        private final Object key;
+
+        private final long evictionCount;
+
+        private Miss(Object key, long evictionCount) {
+            this.key = key;
+            this.evictionCount = evictionCount;
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.parkingcontrol.configs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tag;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.boot.actuate.metrics.web.servlet.WebMvcTagsContributor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Adds the application's own meters next to the ones Spring Boot already publishes for HTTP requests, repository
+ * invocations, the HikariCP pool and the Caffeine caches. Warm-up requests are left out of the request and service
+ * meters.
+ */
+@Configuration
+public class MetricsConfig {
+    @Bean
+    public ServiceTimingAspect serviceTimingAspect(MeterRegistry meterRegistry, WarmUpRequests warmUpRequests) {
+        return new ServiceTimingAspect(meterRegistry, warmUpRequests);
+    }
+
+    @Bean
+    public WebMvcConfigurer outcomeMetricsConfigurer(MeterRegistry meterRegistry, WarmUpRequests warmUpRequests) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new OutcomeMetricsInterceptor(meterRegistry, warmUpRequests));
+            }
+        };
+    }
+
+    // Only warm-up requests get the tag, and the filter below keeps their meters from being registered
+    @Bean
+    public WebMvcTagsContributor warmUpTagsContributor(WarmUpRequests warmUpRequests) {
+        return new WebMvcTagsContributor() {
+            @Override
+            public Iterable<Tag> getTags(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                         Throwable exception) {
+                return getLongRequestTags(request, handler);
+            }
+
+            @Override
+            public Iterable<Tag> getLongRequestTags(HttpServletRequest request, Object handler) {
+                return warmUpRequests.isWarmUp(request) ? Tags.of(WarmUpRequests.TAG, "true") : Tags.empty();
+            }
+        };
+    }
+
+    @Bean
+    public MeterFilter warmUpMeterFilter() {
+        return MeterFilter.deny(id -> id.getTag(WarmUpRequests.TAG) != null);
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.parkingcontrol.configs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Counts the requests the controllers turn away as {@code parking-control.outcomes}, split into not found,
+ * conflict and failed precondition per endpoint. Warm-up requests are not counted.
+ */
+public class OutcomeMetricsInterceptor implements HandlerInterceptor {
+    public static final String METRIC_NAME = "parking-control.outcomes";
+
+    private final MeterRegistry meterRegistry;
+
+    private final WarmUpRequests warmUpRequests;
+
+    public OutcomeMetricsInterceptor(MeterRegistry meterRegistry, WarmUpRequests warmUpRequests) {
+        this.meterRegistry = meterRegistry;
+        this.warmUpRequests = warmUpRequests;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (warmUpRequests.isWarmUp(request)) {
+            return;
+        }
+
+        String outcome;
+        if (response.getStatus() == HttpStatus.NOT_FOUND.value()) {
+            outcome = "not_found";
+        } else if (response.getStatus() == HttpStatus.CONFLICT.value()) {
+            outcome = "conflict";
+        } else if (response.getStatus() == HttpStatus.PRECONDITION_FAILED.value()) {
+            outcome = "precondition_failed";
+        } else {
+            return;
+        }
+
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        meterRegistry.counter(METRIC_NAME,
+                              "outcome", outcome,
+                              "method", request.getMethod(),
+                              "uri", uri == null ? "UNKNOWN" : uri.toString()).increment();
+    }
+}
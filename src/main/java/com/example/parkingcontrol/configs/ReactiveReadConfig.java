@@ -0,0 +1,186 @@
+package com.example.parkingcontrol.configs;
+
+import com.example.parkingcontrol.handlers.CarHandler;
+import com.example.parkingcontrol.handlers.ParkingSpotHandler;
+import com.example.parkingcontrol.repositories.ReactiveCarRepository;
+import com.example.parkingcontrol.repositories.ReactiveParkingSpotRepository;
+import com.example.parkingcontrol.services.ChangeCounter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import org.reactivestreams.Publisher;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.reactive.function.server.HandlerFilterFunction;
+import org.springframework.web.reactive.function.server.HandlerStrategies;
+import org.springframework.web.reactive.function.server.RouterFunction;
+import org.springframework.web.reactive.function.server.RouterFunctions;
+import org.springframework.util.MimeType;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Serves the car and parking spot lookups from a separate Reactor Netty server backed by R2DBC, next to the servlet
+ * stack and its JPA write path.
+ */
+@Configuration
+@ConditionalOnProperty(name = "parking-control.reactive.enabled", havingValue = "true")
+public class ReactiveReadConfig {
+    /**
+     * Typed as a plain {@link Disposable} on purpose: Boot backs off from the JDBC DataSource the JPA write path needs
+     * as soon as an R2DBC {@link ConnectionFactory} bean exists.
+     */
+    @Bean(destroyMethod = "dispose")
+    public Disposable reactiveConnectionPool(
+            @Value("${parking-control.reactive.r2dbc-url:}") String r2dbcUrl,
+            @Value("${spring.datasource.url}") String jdbcUrl,
+            @Value("${spring.datasource.username:}") String username,
+            @Value("${spring.datasource.password:}") String password,
+            @Value("${parking-control.reactive.pool-size:10}") int poolSize
+    ) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions
+                .parse(r2dbcUrl.isEmpty() ? jdbcUrl.replaceFirst("^jdbc:", "r2dbc:") : r2dbcUrl)
+                .mutate();
+        if (!username.isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, username);
+        }
+        if (!password.isEmpty()) {
+            options.option(ConnectionFactoryOptions.PASSWORD, password);
+        }
+
+        return new ConnectionPool(ConnectionPoolConfiguration.builder(ConnectionFactories.get(options.build()))
+                                                             .maxSize(poolSize)
+                                                             .build());
+    }
+
+    @Bean
+    public DatabaseClient reactiveDatabaseClient(@Qualifier("reactiveConnectionPool") Disposable connectionPool) {
+        return DatabaseClient.create((ConnectionFactory) connectionPool);
+    }
+
+    @Bean
+    public CarHandler carHandler(DatabaseClient reactiveDatabaseClient) {
+        return new CarHandler(new ReactiveCarRepository(reactiveDatabaseClient));
+    }
+
+    @Bean
+    public ParkingSpotHandler parkingSpotHandler(DatabaseClient reactiveDatabaseClient) {
+        return new ParkingSpotHandler(new ReactiveParkingSpotRepository(reactiveDatabaseClient));
+    }
+
+    @Bean
+    public RouterFunction<ServerResponse> reactiveReadRoutes(CarHandler carHandler,
+                                                             ParkingSpotHandler parkingSpotHandler,
+                                                             DatabaseClient reactiveDatabaseClient) {
+        return lookupRoutes(carHandler, parkingSpotHandler).filter(conditionalGet(reactiveDatabaseClient))
+                                                           .and(byIdRoutes(carHandler, parkingSpotHandler));
+    }
+
+    @Bean
+    public ReactiveReadServer reactiveReadServer(
+            RouterFunction<ServerResponse> reactiveReadRoutes,
+            ObjectMapper objectMapper,
+            @Value("${parking-control.reactive.port:8081}") int port,
+            @Value("${parking-control.reactive.event-loop-threads:4}") int eventLoopThreads
+    ) {
+        return new ReactiveReadServer(RouterFunctions.toHttpHandler(reactiveReadRoutes, strategies(objectMapper)),
+                                      port, eventLoopThreads);
+    }
+
+    /**
+     * The response body is written as JSON, Smile or CBOR, whichever the {@code Accept} header asks for.
+     */
+    public static HandlerStrategies strategies(ObjectMapper objectMapper) {
+        return HandlerStrategies
+                .builder()
+                .codecs(codecs -> {
+                    codecs.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(objectMapper));
+                    // Given a mapper alone, these encoders would claim the JSON media types
+                    codecs.defaultCodecs().jackson2SmileEncoder(new Jackson2SmileEncoder(
+                            DateConfig.configure(new SmileMapper()), new MediaType("application", "x-jackson-smile")));
+                    codecs.customCodecs().register(new ValueCborEncoder(DateConfig.configure(new CBORMapper())));
+                })
+                .build();
+    }
+
+    /**
+     * The reactive counterpart of {@link ConditionalGetInterceptor}, reading the {@link ChangeCounter} row through
+     * R2DBC.
+     */
+    public static HandlerFilterFunction<ServerResponse, ServerResponse> conditionalGet(DatabaseClient databaseClient) {
+        return (request, next) -> changes(databaseClient).flatMap(
+                changes -> request.exchange().checkNotModified(ChangeCounter.etag(changes))
+                           ? ServerResponse.status(HttpStatus.NOT_MODIFIED).build()
+                           : next.handle(request));
+    }
+
+    private static Mono<Long> changes(DatabaseClient databaseClient) {
+        return databaseClient.sql(ChangeCounter.SELECT)
+                             .map(row -> row.get("changes", Long.class))
+                             .one()
+                             .defaultIfEmpty(0L);
+    }
+
+    /**
+     * Mirrors the paths of the lookup endpoints in {@code CarController} and {@code ParkingSpotController}.
+     */
+    public static RouterFunction<ServerResponse> routes(CarHandler carHandler, ParkingSpotHandler parkingSpotHandler) {
+        return lookupRoutes(carHandler, parkingSpotHandler).and(byIdRoutes(carHandler, parkingSpotHandler));
+    }
+
+    private static RouterFunction<ServerResponse> lookupRoutes(CarHandler carHandler,
+                                                               ParkingSpotHandler parkingSpotHandler) {
+        return RouterFunctions.route()
+                              .GET("/cars/license-plate", carHandler::findByLicensePlate)
+                              .GET("/parking-spot/spot-number", parkingSpotHandler::findBySpotNumber)
+                              .GET("/parking-spot/apartment", parkingSpotHandler::findByApartment)
+                              .GET("/parking-spot/owner", parkingSpotHandler::findByOwner)
+                              .build();
+    }
+
+    // Tagged by the handlers with the versions of what they return
+    private static RouterFunction<ServerResponse> byIdRoutes(CarHandler carHandler,
+                                                             ParkingSpotHandler parkingSpotHandler) {
+        return RouterFunctions.route()
+                              .GET("/cars/{id}", carHandler::findById)
+                              .GET("/parking-spot/{id}", parkingSpotHandler::findById)
+                              .build();
+    }
+
+    /**
+     * Spring's CBOR encoder refuses {@code encode}, which the response writer calls even for a single value, so each
+     * value is encoded on its own.
+     */
+    private static final class ValueCborEncoder extends Jackson2CborEncoder {
+        private ValueCborEncoder(CBORMapper mapper) {
+            super(mapper, MediaType.APPLICATION_CBOR);
+        }
+
+        @Override
+        public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory,
+                                       ResolvableType elementType, MimeType mimeType, Map<String, Object> hints) {
+            return Flux.from(inputStream).map(value -> encodeValue(value, bufferFactory, elementType, mimeType, hints));
+        }
+    }
+}
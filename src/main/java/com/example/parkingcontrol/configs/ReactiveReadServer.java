@@ -0,0 +1,66 @@
+package com.example.parkingcontrol.configs;
+
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.server.reactive.HttpHandler;
+import org.springframework.http.server.reactive.ReactorHttpHandlerAdapter;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+import java.util.regex.Pattern;
+
+/**
+ * Runs the reactive read routes on their own port with a fixed number of event loop threads.
+ */
+public class ReactiveReadServer implements SmartLifecycle {
+    private static final Pattern ID_SEGMENT = Pattern.compile(
+            "/[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}$");
+
+    private final HttpHandler httpHandler;
+
+    private final int port;
+
+    private final int eventLoopThreads;
+
+    private LoopResources loopResources;
+
+    private DisposableServer server;
+
+    public ReactiveReadServer(HttpHandler httpHandler, int port, int eventLoopThreads) {
+        this.httpHandler = httpHandler;
+        this.port = port;
+        this.eventLoopThreads = eventLoopThreads;
+    }
+
+    @Override
+    public void start() {
+        loopResources = LoopResources.create("reactive-reads", eventLoopThreads, true);
+        server = HttpServer.create()
+                           .port(port)
+                           .runOn(loopResources)
+                           .metrics(true, ReactiveReadServer::uriTag)
+                           .handle(new ReactorHttpHandlerAdapter(httpHandler))
+                           .bindNow();
+    }
+
+    @Override
+    public void stop() {
+        server.disposeNow();
+        loopResources.disposeLater().block();
+        server = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return server != null;
+    }
+
+    // Keeps the reactor.netty.http.server meters to one series per route rather than one per id
+    static String uriTag(String uri) {
+        return ID_SEGMENT.matcher(uri).replaceFirst("/{id}");
+    }
+
+    public int getPort() {
+        return server.port();
+    }
+}
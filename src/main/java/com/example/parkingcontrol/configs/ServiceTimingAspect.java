@@ -0,0 +1,47 @@
+package com.example.parkingcontrol.configs;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+
+/**
+ * Times every public service method as {@code parking-control.service}, tagged with the class, method and the
+ * exception thrown, if any. Calls made by warm-up requests are not timed.
+ */
+@Aspect
+public class ServiceTimingAspect {
+    public static final String METRIC_NAME = "parking-control.service";
+
+    private final MeterRegistry meterRegistry;
+
+    private final WarmUpRequests warmUpRequests;
+
+    public ServiceTimingAspect(MeterRegistry meterRegistry, WarmUpRequests warmUpRequests) {
+        this.meterRegistry = meterRegistry;
+        this.warmUpRequests = warmUpRequests;
+    }
+
+    @Around("within(com.example.parkingcontrol.services..*) && execution(public * *(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (warmUpRequests.isWarmUp()) {
+            return joinPoint.proceed();
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder(METRIC_NAME)
+                             .tag("class", joinPoint.getSignature().getDeclaringType().getSimpleName())
+                             .tag("method", joinPoint.getSignature().getName())
+                             .tag("exception", exception)
+                             .register(meterRegistry));
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.parkingcontrol.configs;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Startup behaviour for the {@code fast-startup} profile and the {@code cds} build.
+ * <p>
+ * Lazy initialization is only safe for beans that do nothing until they are used. The in-memory indexes load on
+ * startup and the lifecycle beans start with the context, so they are kept eager. Otherwise the server would take
+ * traffic before they were ready.
+ */
+@Configuration
+public class StartupConfig {
+    @Bean
+    public static LazyInitializationExcludeFilter eagerStartupBeans() {
+        return LazyInitializationExcludeFilter.forBeanTypes(SmartInitializingSingleton.class, SmartLifecycle.class);
+    }
+
+    // Ends the training run that records the class-data sharing archive once startup is complete
+    @Bean
+    @ConditionalOnProperty(name = "parking-control.startup.exit-when-ready", havingValue = "true")
+    public ApplicationListener<ApplicationReadyEvent> exitWhenReady() {
+        return event -> System.exit(SpringApplication.exit(event.getApplicationContext()));
+    }
+}
@@ -0,0 +1,56 @@
+package com.example.parkingcontrol.configs;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes a {@code LocalDateTime} in the fixed {@link DateConfig#DATETIME_FORMAT}, {@code 2022-09-03T10:15:30Z}, by
+ * filling a char array digit by digit. Unlike a pattern formatter it builds no intermediate strings. Years that do not
+ * have four digits are rare enough to go through the pattern instead.
+ */
+public class UtcLocalDateTimeSerializer extends StdSerializer<LocalDateTime> {
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(DateConfig.DATETIME_FORMAT);
+
+    private static final int LENGTH = 20;
+
+    public UtcLocalDateTimeSerializer() {
+        super(LocalDateTime.class);
+    }
+
+    @Override
+    public void serialize(LocalDateTime value, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        int year = value.getYear();
+        if (year < 1 || year > 9999) {
+            generator.writeString(FORMATTER.format(value));
+            return;
+        }
+
+        char[] chars = new char[LENGTH];
+        digits(chars, 0, year / 100);
+        digits(chars, 2, year % 100);
+        chars[4] = '-';
+        digits(chars, 5, value.getMonthValue());
+        chars[7] = '-';
+        digits(chars, 8, value.getDayOfMonth());
+        chars[10] = 'T';
+        digits(chars, 11, value.getHour());
+        chars[13] = ':';
+        digits(chars, 14, value.getMinute());
+        chars[16] = ':';
+        digits(chars, 17, value.getSecond());
+        chars[19] = 'Z';
+
+        generator.writeString(chars, 0, LENGTH);
+    }
+
+    private static void digits(char[] chars, int offset, int value) {
+        chars[offset] = (char) ('0' + value / 10);
+        chars[offset + 1] = (char) ('0' + value % 10);
+    }
+}
@@ -0,0 +1,40 @@
+package com.example.parkingcontrol.configs;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.UUID;
+
+/**
+ * Recognizes the synthetic requests of {@link WarmUpRunner}, so they are left out of the request metrics. They carry
+ * a token made up at startup, so no other client can hide its requests behind the header.
+ */
+@Component
+public class WarmUpRequests {
+    public static final String HEADER = "X-Warm-Up";
+
+    public static final String TAG = "warm_up";
+
+    private final String token = UUID.randomUUID().toString();
+
+    public String token() {
+        return token;
+    }
+
+    public boolean isWarmUp(HttpServletRequest request) {
+        return token.equals(request.getHeader(HEADER));
+    }
+
+    /**
+     * Whether the request bound to the current thread, if any, is a warm-up request.
+     */
+    public boolean isWarmUp() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+
+        return attributes instanceof ServletRequestAttributes
+               && isWarmUp(((ServletRequestAttributes) attributes).getRequest());
+    }
+}
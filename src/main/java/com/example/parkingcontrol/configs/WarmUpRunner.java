@@ -0,0 +1,208 @@
+package com.example.parkingcontrol.configs;
+
+import com.example.parkingcontrol.dtos.CarDTO;
+import com.example.parkingcontrol.dtos.ParkingSpotDTO;
+import com.example.parkingcontrol.mappers.CarMapper;
+import com.example.parkingcontrol.mappers.ParkingSpotMapper;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms up the request path before the application reports itself ready. Readiness only turns to
+ * {@code ACCEPTING_TRAFFIC} once every runner has returned, so a load balancer that follows
+ * {@code /actuator/health/readiness} keeps real traffic away until the hot paths are compiled.
+ * <p>
+ * Each round sends the same synthetic requests through the local server: paged lists, lookups that miss, and valid
+ * updates of unknown ids, which are deserialized and validated but find nothing to write. It also maps a car and a
+ * parking spot, which requests only reach on writes. Rounds stop once the mean round time of a window is within the
+ * tolerance of the previous window, or at the iteration limit or the timeout.
+ * <p>
+ * The requests are marked by {@link WarmUpRequests}, so they do not show in the request metrics. Lookups that are
+ * cached always ask for the same reserved key, so they leave one empty entry per cache rather than one per round.
+ * Off by default, as it delays readiness by up to the timeout.
+ */
+@Component
+@ConditionalOnProperty(name = "parking-control.warm-up.enabled", havingValue = "true")
+public class WarmUpRunner implements ApplicationRunner {
+    private static final Logger LOGGER = LoggerFactory.getLogger(WarmUpRunner.class);
+
+    private static final String CAR = "{\"licensePlate\":\"WRM-0000\",\"brand\":\"Warm\",\"model\":\"Up\","
+                                      + "\"color\":\"Grey\"}";
+
+    private static final String PARKING_SPOT = "{\"spotNumber\":\"000-W\",\"owner\":\"Warm Up\",\"apartment\":\"000\","
+                                               + "\"block\":\"W\",\"car\":" + CAR + "}";
+
+    private static final String LICENSE_PLATE = "WRM-0000";
+
+    private static final String SPOT_NUMBER = "000-W";
+
+    private static final UUID ID = new UUID(0, 0);
+
+    private final Environment environment;
+
+    private final WarmUpRequests warmUpRequests;
+
+    private final CarMapper carMapper;
+
+    private final ParkingSpotMapper parkingSpotMapper;
+
+    private final int iterations;
+
+    private final int window;
+
+    private final double tolerance;
+
+    private final Duration timeout;
+
+    public WarmUpRunner(Environment environment, WarmUpRequests warmUpRequests, CarMapper carMapper,
+                        ParkingSpotMapper parkingSpotMapper,
+                        @Value("${parking-control.warm-up.iterations:2000}") int iterations,
+                        @Value("${parking-control.warm-up.window:100}") int window,
+                        @Value("${parking-control.warm-up.tolerance:0.05}") double tolerance,
+                        @Value("${parking-control.warm-up.timeout:60s}") Duration timeout) {
+        this.environment = environment;
+        this.warmUpRequests = warmUpRequests;
+        this.carMapper = carMapper;
+        this.parkingSpotMapper = parkingSpotMapper;
+        this.iterations = iterations;
+        this.window = window;
+        this.tolerance = tolerance;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        if (port == null) {
+            LOGGER.debug("Skipping warm-up, no web server is running");
+            return;
+        }
+
+        String baseUrl = "http://localhost:" + port;
+        HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        CarDTO carDTO = carDTO();
+        ParkingSpotDTO parkingSpotDTO = parkingSpotDTO(carDTO);
+
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long windowNanos = 0;
+        long previousWindowNanos = 0;
+        int rounds = 0;
+        String outcome = "iteration limit";
+        try {
+            while (rounds < iterations) {
+                if (System.nanoTime() > deadline) {
+                    outcome = "timeout";
+                    break;
+                }
+
+                long roundStart = System.nanoTime();
+                round(httpClient, baseUrl, carDTO, parkingSpotDTO);
+                windowNanos += System.nanoTime() - roundStart;
+                rounds++;
+
+                if (rounds % window == 0) {
+                    if (previousWindowNanos > 0
+                        && Math.abs(windowNanos - previousWindowNanos) <= tolerance * previousWindowNanos) {
+                        outcome = "latency settled";
+                        break;
+                    }
+                    previousWindowNanos = windowNanos;
+                    windowNanos = 0;
+                }
+            }
+        } catch (IOException e) {
+            outcome = "request failed";
+            LOGGER.warn("Stopping warm-up, a request to the local server failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            outcome = "interrupted";
+        }
+
+        long elapsed = System.nanoTime() - start;
+        Metrics.timer("parking-control.warm-up").record(elapsed, TimeUnit.NANOSECONDS);
+        Metrics.counter("parking-control.warm-up.rounds").increment(rounds);
+        LOGGER.info("Warm-up finished after {} rounds in {} ms ({})", rounds,
+                    TimeUnit.NANOSECONDS.toMillis(elapsed), outcome);
+    }
+
+    private void round(HttpClient httpClient, String baseUrl, CarDTO carDTO, ParkingSpotDTO parkingSpotDTO)
+            throws IOException, InterruptedException {
+        // A new key every round for the lookups that are not cached, so they keep reaching the repositories
+        String key = UUID.randomUUID().toString();
+        List<HttpRequest> requests = List.of(
+                get(baseUrl + "/cars?limit=20"),
+                get(baseUrl + "/parking-spot?limit=20"),
+                get(baseUrl + "/cars/" + ID),
+                get(baseUrl + "/cars/license-plate?number=" + LICENSE_PLATE),
+                get(baseUrl + "/parking-spot/" + ID),
+                get(baseUrl + "/parking-spot/spot-number?spot=" + SPOT_NUMBER),
+                get(baseUrl + "/parking-spot/apartment?number=" + key.substring(0, 8)),
+                get(baseUrl + "/parking-spot/owner?name=" + key.substring(0, 8)),
+                get(baseUrl + "/parking-spot/owners?prefix=" + key.substring(0, 2)),
+                get(baseUrl + "/parking-spot/occupancy"),
+                put(baseUrl + "/cars/update/" + ID, CAR),
+                put(baseUrl + "/parking-spot/update/" + ID, PARKING_SPOT));
+
+        for (HttpRequest request : requests) {
+            httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+        }
+
+        carMapper.toModel(carDTO);
+        parkingSpotMapper.toModel(parkingSpotDTO);
+    }
+
+    private HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                          .header(WarmUpRequests.HEADER, warmUpRequests.token())
+                          .build();
+    }
+
+    private HttpRequest put(String uri, String body) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                          .header(WarmUpRequests.HEADER, warmUpRequests.token())
+                          .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                          .PUT(HttpRequest.BodyPublishers.ofString(body))
+                          .build();
+    }
+
+    private static CarDTO carDTO() {
+        CarDTO carDTO = new CarDTO();
+        carDTO.setLicensePlate(LICENSE_PLATE);
+        carDTO.setBrand("Warm");
+        carDTO.setModel("Up");
+        carDTO.setColor("Grey");
+
+        return carDTO;
+    }
+
+    private static ParkingSpotDTO parkingSpotDTO(CarDTO carDTO) {
+        ParkingSpotDTO parkingSpotDTO = new ParkingSpotDTO();
+        parkingSpotDTO.setSpotNumber(SPOT_NUMBER);
+        parkingSpotDTO.setOwner("Warm Up");
+        parkingSpotDTO.setApartment("000");
+        parkingSpotDTO.setBlock("W");
+        parkingSpotDTO.setCar(carDTO);
+
+        return parkingSpotDTO;
+    }
+}
@@ -1,77 +1,184 @@
 package com.example.parkingcontrol.controllers;
 
+import com.example.parkingcontrol.dtos.CarBatchDTO;
+import com.example.parkingcontrol.dtos.CarBatchResultDTO;
 import com.example.parkingcontrol.dtos.CarDTO;
+import com.example.parkingcontrol.exceptions.ConflictException;
+import com.example.parkingcontrol.mappers.CarMapper;
 import com.example.parkingcontrol.models.CarModel;
 import com.example.parkingcontrol.models.ParkingSpotModel;
+import com.example.parkingcontrol.projections.CarView;
 import com.example.parkingcontrol.services.CarService;
-import org.springframework.beans.BeanUtils;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @RestController
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RequestMapping("/cars")
 public class CarController {
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     private CarService carService;
 
+    @Autowired
+    private CarMapper carMapper;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     @PostMapping
     public ResponseEntity<Object> saveCar(@RequestBody @Valid CarDTO carDTO) {
         if (carService.existsByLicensePlate(carDTO.getLicensePlate())) {
             return ResponseEntity.status(HttpStatus.CONFLICT).body("Conflict: License plate is already in use!");
         }
 
-        CarModel carModel = new CarModel();
-        BeanUtils.copyProperties(carDTO, carModel);
+        CarModel carModel = carMapper.toModel(carDTO);
+
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(carService.save(carModel));
+        } catch (ConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<Object> saveCars(@RequestBody @Valid CarBatchDTO carBatchDTO) {
+        List<CarDTO> carDTOs = carBatchDTO.getCars();
+        Set<String> existingLicensePlates = carService.findExistingLicensePlates(
+                carDTOs.stream().map(CarDTO::getLicensePlate).collect(Collectors.toSet()));
+
+        CarBatchResultDTO[] results = new CarBatchResultDTO[carDTOs.size()];
+        Set<String> batchLicensePlates = new HashSet<>();
+        List<Integer> pendingIndexes = new ArrayList<>();
+        List<CarModel> pendingCars = new ArrayList<>();
+
+        for (int i = 0; i < carDTOs.size(); i++) {
+            CarDTO carDTO = carDTOs.get(i);
+            if (existingLicensePlates.contains(carDTO.getLicensePlate())) {
+                results[i] = CarBatchResultDTO.conflict(i, carDTO.getLicensePlate(),
+                                                        "Conflict: License plate is already in use!");
+            } else if (!batchLicensePlates.add(carDTO.getLicensePlate())) {
+                results[i] = CarBatchResultDTO.conflict(i, carDTO.getLicensePlate(),
+                                                        "Conflict: License plate is repeated in this batch!");
+            } else {
+                pendingIndexes.add(i);
+                pendingCars.add(carMapper.toModel(carDTO));
+            }
+        }
+
+        if (pendingCars.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(Arrays.asList(results));
+        }
+
+        List<CarModel> savedCars;
+        try {
+            savedCars = carService.saveAll(pendingCars);
+        } catch (ConflictException e) {
+            // A license plate was taken after the check above, and the whole batch was rolled back
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+
+        for (int i = 0; i < savedCars.size(); i++) {
+            CarModel savedCar = savedCars.get(i);
+            int index = pendingIndexes.get(i);
+            results[index] = CarBatchResultDTO.created(index, savedCar.getLicensePlate(), savedCar.getId());
+        }
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(carService.save(carModel));
+        return ResponseEntity.status(HttpStatus.CREATED).body(Arrays.asList(results));
     }
 
     @GetMapping
-    public ResponseEntity<List<CarModel>> getAll() {
-        return ResponseEntity.status(HttpStatus.OK).body(carService.findAll());
+    public ResponseEntity<Object> getAll(
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String next
+    ) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                                 .body("Invalid limit: must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+
+        try {
+            return ResponseEntity.status(HttpStatus.OK).body(carService.findPage(next, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid cursor.");
+        }
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                carService.exportAll(car -> writeLine(generator, car));
+            }
+        };
+
+        return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<Object> findById(@PathVariable(value = "id") UUID id) {
-        Optional<CarModel> carModelOptional = carService.findById(id);
-        if (!carModelOptional.isPresent()) {
+        Optional<CarView> carViewOptional = carService.findViewById(id);
+        if (!carViewOptional.isPresent()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Car not found.");
         }
 
-        return ResponseEntity.status(HttpStatus.OK).body(carModelOptional.get());
+        // Spring answers a matching If-None-Match with 304 Not Modified
+        return ResponseEntity.status(HttpStatus.OK)
+                             .eTag(EntityTags.of(carViewOptional.get()))
+                             .varyBy(HttpHeaders.ACCEPT)
+                             .body(carViewOptional.get());
     }
 
     @GetMapping("/license-plate")
     public ResponseEntity<Object> findByLicensePlate(@RequestParam(defaultValue = "") String number) {
-        Optional<CarModel> carModelOptional = carService.findByLicensePlate(number);
-        if (!carModelOptional.isPresent()) {
+        Optional<CarView> carViewOptional = carService.findByLicensePlate(number);
+        if (!carViewOptional.isPresent()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Car not found.");
         }
 
-        return ResponseEntity.status(HttpStatus.OK).body(carModelOptional.get());
+        return ResponseEntity.status(HttpStatus.OK).body(carViewOptional.get());
     }
 
     @PutMapping("/update/{id}")
-    public ResponseEntity<Object> update(@PathVariable(value = "id") UUID id, @RequestBody @Valid CarDTO carDTO) {
-        Optional<CarModel> carModelOptional = carService.findById(id);
-
-        if (!carModelOptional.isPresent()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Car not found.");
+    public ResponseEntity<Object> update(
+            @PathVariable(value = "id") UUID id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody @Valid CarDTO carDTO
+    ) {
+        // Not retried: re-applying the request on top of a concurrent update would silently overwrite that update
+        try {
+            return updateCar(id, ifMatch, carDTO);
+        } catch (OptimisticLockingFailureException e) {
+            if (ifMatch != null) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                                     .body("Car was modified since it was read.");
+            }
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Conflict: Car is being updated concurrently!");
+        } catch (ConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
         }
-
-        CarModel carModel = carModelOptional.get();
-        BeanUtils.copyProperties(carDTO, carModel);
-        carModel.setId(carModelOptional.get().getId());
-
-        return ResponseEntity.status(HttpStatus.OK).body(carService.save(carModel));
     }
 
     @DeleteMapping("/delete/{id}")
@@ -91,4 +198,33 @@ public class CarController {
 
         return ResponseEntity.status(HttpStatus.OK).body("Car deleted successfully.");
     }
+
+    private ResponseEntity<Object> updateCar(UUID id, String ifMatch, CarDTO carDTO) {
+        Optional<CarModel> carModelOptional = carService.findById(id);
+
+        if (!carModelOptional.isPresent()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Car not found.");
+        }
+
+        CarModel carModel = carModelOptional.get();
+        if (!EntityTags.matches(ifMatch, carModel.getVersion())) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                                 .eTag(EntityTags.of(carModel.getVersion()))
+                                 .body("Car was modified since it was read.");
+        }
+
+        carMapper.updateModel(carDTO, carModel);
+        CarModel savedCar = carService.save(carModel);
+
+        return ResponseEntity.status(HttpStatus.OK).eTag(EntityTags.of(savedCar.getVersion())).body(savedCar);
+    }
+
+    private void writeLine(JsonGenerator generator, Object value) {
+        try {
+            objectMapper.writeValue(generator, value);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
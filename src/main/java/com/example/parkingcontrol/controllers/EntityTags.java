@@ -0,0 +1,58 @@
+package com.example.parkingcontrol.controllers;
+
+import com.example.parkingcontrol.projections.CarView;
+import com.example.parkingcontrol.projections.ParkingSpotView;
+
+import java.util.UUID;
+
+/**
+ * Entity tags derived from the version column, so a client can make an update conditional on the version it read.
+ * A read also embeds the other side of the car to parking spot relation, whose id and version are added to the tag.
+ */
+public final class EntityTags {
+    private EntityTags() {
+    }
+
+    public static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    public static String of(CarView car) {
+        return car.getParkingSpot() == null
+               ? of(car.getVersion())
+               : of(car.getVersion(), car.getParkingSpot().getId(), car.getParkingSpotVersion());
+    }
+
+    public static String of(ParkingSpotView parkingSpot) {
+        return parkingSpot.getCar() == null
+               ? of(parkingSpot.getVersion())
+               : of(parkingSpot.getVersion(), parkingSpot.getCar().getId(), parkingSpot.getCarVersion());
+    }
+
+    /**
+     * Whether an {@code If-Match} header allows updating the given version. A missing header allows any version.
+     * <p>
+     * Tags from reads by id are accepted too. Only their leading version counts, as an update never touches the
+     * embedded entity.
+     */
+    static boolean matches(String ifMatch, long version) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return true;
+        }
+
+        String tag = of(version);
+        String readTagPrefix = "\"" + version + "-";
+        for (String candidate : ifMatch.split(",")) {
+            String trimmed = candidate.trim();
+            if (trimmed.equals(tag) || trimmed.startsWith(readTagPrefix)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static String of(long version, UUID relatedId, Long relatedVersion) {
+        return "\"" + version + "-" + relatedId + "-" + relatedVersion + "\"";
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.parkingcontrol.controllers;
+
+import com.example.parkingcontrol.dtos.ParkingSessionEventBatchDTO;
+import com.example.parkingcontrol.mappers.ParkingSessionEventMapper;
+import com.example.parkingcontrol.models.ParkingSessionEventModel;
+import com.example.parkingcontrol.services.ParkingSessionLedger;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import javax.validation.Valid;
+import java.util.List;
+
+@RestController
+@CrossOrigin(origins = "*", maxAge = 3600)
+@RequestMapping("/parking-session")
+public class ParkingSessionController {
+    @Autowired
+    ParkingSessionLedger parkingSessionLedger;
+
+    @Autowired
+    ParkingSessionEventMapper parkingSessionEventMapper;
+
+    @PostMapping("/events")
+    public ResponseEntity<Object> recordEvents(@RequestBody @Valid ParkingSessionEventBatchDTO batchDTO) {
+        List<ParkingSessionEventModel> events = parkingSessionEventMapper.toModels(batchDTO.getEvents());
+        if (!parkingSessionLedger.offer(events)) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                                 .header(HttpHeaders.RETRY_AFTER, "1")
+                                 .body("Session ledger is full, retry later.");
+        }
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(events.size() + " events accepted.");
+    }
+}
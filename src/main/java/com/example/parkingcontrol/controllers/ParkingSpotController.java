@@ -1,20 +1,35 @@
 package com.example.parkingcontrol.controllers;
 
+import com.example.parkingcontrol.dtos.BlockOccupancyDTO;
 import com.example.parkingcontrol.dtos.ParkingSpotDTO;
+import com.example.parkingcontrol.exceptions.ConflictException;
+import com.example.parkingcontrol.mappers.ParkingSpotMapper;
 import com.example.parkingcontrol.models.CarModel;
 import com.example.parkingcontrol.models.ParkingSpotModel;
+import com.example.parkingcontrol.projections.ParkingSpotView;
 import com.example.parkingcontrol.services.CarService;
+import com.example.parkingcontrol.services.OccupancyIndex;
+import com.example.parkingcontrol.services.OccupancyStream;
+import com.example.parkingcontrol.services.OwnerIndex;
 import com.example.parkingcontrol.services.ParkingSpotService;
-import org.springframework.beans.BeanUtils;
+import com.example.parkingcontrol.services.SpotAllocator;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -22,28 +37,42 @@ import java.util.UUID;
 @CrossOrigin(origins = "*", maxAge = 3600)
 @RequestMapping("/parking-spot")
 public class ParkingSpotController {
+    private static final int MAX_PAGE_SIZE = 100;
+
     @Autowired
     ParkingSpotService parkingSpotService;
 
     @Autowired
     CarService carService;
 
-    @PostMapping
-    public ResponseEntity<Object> saveParkingSpot(@RequestBody @Valid ParkingSpotDTO parkingSpotDTO) {
-        if (parkingSpotService.existsBySpotNumber(parkingSpotDTO.getSpotNumber())) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("Conflict: Parking Spot is already in use!");
-        }
+    @Autowired
+    OccupancyIndex occupancyIndex;
 
-        if (parkingSpotService.existsByApartmentAndBlock(parkingSpotDTO.getApartment(), parkingSpotDTO.getBlock())) {
-            return ResponseEntity.status(HttpStatus.CONFLICT)
-                                 .body("Conflict: Parking Spot is already registered for this apartment and block!");
-        }
+    @Autowired
+    OccupancyStream occupancyStream;
+
+    @Autowired
+    OwnerIndex ownerIndex;
+
+    @Autowired
+    SpotAllocator spotAllocator;
+
+    @Autowired
+    ParkingSpotMapper parkingSpotMapper;
+
+    @Autowired
+    ObjectMapper objectMapper;
 
-        ParkingSpotModel parkingSpot = new ParkingSpotModel();
-        BeanUtils.copyProperties(parkingSpotDTO, parkingSpot);
+    @PostMapping
+    public ResponseEntity<Object> saveParkingSpot(@RequestBody @Valid ParkingSpotDTO parkingSpotDTO) {
+        ParkingSpotModel parkingSpot = parkingSpotMapper.toModel(parkingSpotDTO);
         parkingSpot.setRegistrationDate(LocalDateTime.now(ZoneId.of("UTC")));
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(parkingSpotService.save(parkingSpot));
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(parkingSpotService.save(parkingSpot));
+        } catch (ConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
     }
 
     @PostMapping("/car/{carId}")
@@ -57,90 +86,171 @@ public class ParkingSpotController {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Car not found.");
         }
 
-        if (parkingSpotService.existsBySpotNumber(parkingSpotDTO.getSpotNumber())) {
-            return ResponseEntity.status(HttpStatus.CONFLICT).body("Conflict: Parking Spot is already in use!");
+        ParkingSpotModel parkingSpot = parkingSpotMapper.toModel(parkingSpotDTO);
+        parkingSpot.setCar(carModelOptional.get());
+        parkingSpot.setRegistrationDate(LocalDateTime.now(ZoneId.of("UTC")));
+
+        try {
+            return ResponseEntity.status(HttpStatus.CREATED).body(parkingSpotService.save(parkingSpot));
+        } catch (ConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    @PostMapping("/allocate")
+    public ResponseEntity<Object> allocate(@RequestParam UUID carId, @RequestParam String block) {
+        Optional<CarModel> carModelOptional = carService.findById(carId);
+
+        if (!carModelOptional.isPresent()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Car not found.");
         }
 
-        if (parkingSpotService.existsByApartmentAndBlock(parkingSpotDTO.getApartment(), parkingSpotDTO.getBlock())) {
-            return ResponseEntity.status(HttpStatus.CONFLICT)
-                                 .body("Conflict: Parking Spot is already registered for this apartment and block!");
+        if (carModelOptional.get().getParkingSpot() != null) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Conflict: Car already has a Parking Spot!");
         }
 
-        ParkingSpotModel parkingSpot = new ParkingSpotModel();
-        BeanUtils.copyProperties(parkingSpotDTO, parkingSpot);
-        parkingSpot.setCar(carModelOptional.get());
-        parkingSpot.setRegistrationDate(LocalDateTime.now(ZoneId.of("UTC")));
+        if (!occupancyIndex.hasBlock(block)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Block not found.");
+        }
 
-        return ResponseEntity.status(HttpStatus.CREATED).body(parkingSpotService.save(parkingSpot));
+        try {
+            Optional<ParkingSpotModel> parkingSpotModelOptional = spotAllocator.allocate(block, carId);
+            if (!parkingSpotModelOptional.isPresent()) {
+                return ResponseEntity.status(HttpStatus.CONFLICT).body("Conflict: No free Parking Spot in this block!");
+            }
+
+            return ResponseEntity.status(HttpStatus.OK).body(parkingSpotModelOptional.get());
+        } catch (ConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Conflict: Car is being updated concurrently!");
+        }
     }
 
     @GetMapping
-    public ResponseEntity<List<ParkingSpotModel>> getAll() {
-        return ResponseEntity.status(HttpStatus.OK).body(parkingSpotService.findAll());
+    public ResponseEntity<Object> getAll(
+            @RequestParam(defaultValue = "20") int limit,
+            @RequestParam(required = false) String next
+    ) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                                 .body("Invalid limit: must be between 1 and " + MAX_PAGE_SIZE + ".");
+        }
+
+        try {
+            return ResponseEntity.status(HttpStatus.OK).body(parkingSpotService.findPage(next, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid cursor.");
+        }
+    }
+
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export() {
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(null);
+                parkingSpotService.exportAll(parkingSpot -> writeLine(generator, parkingSpot));
+            }
+        };
+
+        return ResponseEntity.status(HttpStatus.OK).contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    @GetMapping("/occupancy")
+    public ResponseEntity<Object> occupancy(@RequestParam(required = false) String block) {
+        if (block == null) {
+            return ResponseEntity.status(HttpStatus.OK).body(occupancyIndex.snapshot());
+        }
+
+        Optional<BlockOccupancyDTO> blockOccupancyOptional = occupancyIndex.snapshot(block);
+        if (!blockOccupancyOptional.isPresent()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Block not found.");
+        }
+
+        return ResponseEntity.status(HttpStatus.OK).body(blockOccupancyOptional.get());
+    }
+
+    @GetMapping(value = "/occupancy/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter occupancyStream() {
+        return occupancyStream.subscribe();
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<Object> findById(@PathVariable(value = "id") UUID id) {
-        Optional<ParkingSpotModel> parkingSpotModelOptional = parkingSpotService.findById(id);
-        if (!parkingSpotModelOptional.isPresent()) {
+        Optional<ParkingSpotView> parkingSpotViewOptional = parkingSpotService.findViewById(id);
+        if (!parkingSpotViewOptional.isPresent()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Parking spot not found.");
         }
 
-        return ResponseEntity.status(HttpStatus.OK).body(parkingSpotModelOptional.get());
+        // Spring answers a matching If-None-Match with 304 Not Modified
+        return ResponseEntity.status(HttpStatus.OK)
+                             .eTag(EntityTags.of(parkingSpotViewOptional.get()))
+                             .varyBy(HttpHeaders.ACCEPT)
+                             .body(parkingSpotViewOptional.get());
     }
 
     @GetMapping("/spot-number")
     public ResponseEntity<Object> findBySpotNumber(@RequestParam(defaultValue = "") String spot) {
-        Optional<ParkingSpotModel> parkingSpotModelOptional = parkingSpotService.findBySpotNumber(spot);
-        if (!parkingSpotModelOptional.isPresent()) {
+        Optional<ParkingSpotView> parkingSpotViewOptional = parkingSpotService.findBySpotNumber(spot);
+        if (!parkingSpotViewOptional.isPresent()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Parking spot not found.");
         }
 
-        return ResponseEntity.status(HttpStatus.OK).body(parkingSpotModelOptional.get());
+        return ResponseEntity.status(HttpStatus.OK).body(parkingSpotViewOptional.get());
     }
 
     @GetMapping("/apartment")
     public ResponseEntity<Object> findByApartment(@RequestParam(defaultValue = "") String number) {
-        Optional<ParkingSpotModel> parkingSpotModelOptional = parkingSpotService.findByApartment(number);
-        if (!parkingSpotModelOptional.isPresent()) {
+        Optional<ParkingSpotView> parkingSpotViewOptional = parkingSpotService.findByApartment(number);
+        if (!parkingSpotViewOptional.isPresent()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Parking spot not found.");
         }
 
-        return ResponseEntity.status(HttpStatus.OK).body(parkingSpotModelOptional.get());
+        return ResponseEntity.status(HttpStatus.OK).body(parkingSpotViewOptional.get());
     }
 
     @GetMapping("/owner")
     public ResponseEntity<Object> findByOwner(@RequestParam(defaultValue = "") String name) {
-        Optional<ParkingSpotModel> parkingSpotModelOptional = parkingSpotService.findByOwner(name);
-        if (!parkingSpotModelOptional.isPresent()) {
+        Optional<ParkingSpotView> parkingSpotViewOptional = parkingSpotService.findByOwner(name);
+        if (!parkingSpotViewOptional.isPresent()) {
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Parking spot not found.");
         }
 
-        return ResponseEntity.status(HttpStatus.OK).body(parkingSpotModelOptional.get());
+        return ResponseEntity.status(HttpStatus.OK).body(parkingSpotViewOptional.get());
     }
 
-    @PutMapping("/update/{id}")
-    public ResponseEntity<Object> update(@PathVariable(value = "id") UUID id, @RequestBody @Valid ParkingSpotDTO parkingSpotDTO) {
-        Optional<ParkingSpotModel> parkingSpotModelOptional = parkingSpotService.findById(id);
-
-        if (!parkingSpotModelOptional.isPresent()) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Parking spot not found.");
+    @GetMapping("/owners")
+    public ResponseEntity<Object> searchOwners(
+            @RequestParam(required = false) String name,
+            @RequestParam(defaultValue = "") String prefix,
+            @RequestParam(defaultValue = "20") int limit
+    ) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                                 .body("Invalid limit: must be between 1 and " + MAX_PAGE_SIZE + ".");
         }
 
-        CarModel carModel = new CarModel();
-        BeanUtils.copyProperties(parkingSpotDTO.getCar(), carModel);
+        return ResponseEntity.status(HttpStatus.OK).body(name != null
+                                                         ? ownerIndex.findByOwner(name, limit)
+                                                         : ownerIndex.findByOwnerPrefix(prefix, limit));
+    }
 
-        if (parkingSpotModelOptional.get().getCar() != null) {
-            carModel.setId(parkingSpotModelOptional.get().getCar().getId());
+    @PutMapping("/update/{id}")
+    public ResponseEntity<Object> update(
+            @PathVariable(value = "id") UUID id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody @Valid ParkingSpotDTO parkingSpotDTO
+    ) {
+        // Not retried: re-applying the request on top of a concurrent update would silently overwrite that update
+        try {
+            return updateParkingSpot(id, ifMatch, parkingSpotDTO);
+        } catch (OptimisticLockingFailureException e) {
+            if (ifMatch != null) {
+                return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                                     .body("Parking spot was modified since it was read.");
+            }
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Conflict: Parking Spot is being updated concurrently!");
         }
-
-        ParkingSpotModel parkingSpot = parkingSpotModelOptional.get();
-        BeanUtils.copyProperties(parkingSpotDTO, parkingSpot);
-        parkingSpot.setId(parkingSpotModelOptional.get().getId());
-        parkingSpot.setRegistrationDate(parkingSpotModelOptional.get().getRegistrationDate());
-        parkingSpot.setCar(carModel);
-
-        return ResponseEntity.status(HttpStatus.OK).body(parkingSpotService.save(parkingSpot));
     }
 
     @DeleteMapping("/delete/{id}")
@@ -155,4 +265,39 @@ public class ParkingSpotController {
 
         return ResponseEntity.status(HttpStatus.OK).body("Parking spot deleted successfully.");
     }
+
+    private ResponseEntity<Object> updateParkingSpot(UUID id, String ifMatch, ParkingSpotDTO parkingSpotDTO) {
+        Optional<ParkingSpotModel> parkingSpotModelOptional = parkingSpotService.findById(id);
+
+        if (!parkingSpotModelOptional.isPresent()) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Parking spot not found.");
+        }
+
+        ParkingSpotModel parkingSpot = parkingSpotModelOptional.get();
+        if (!EntityTags.matches(ifMatch, parkingSpot.getVersion())) {
+            return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED)
+                                 .eTag(EntityTags.of(parkingSpot.getVersion()))
+                                 .body("Parking spot was modified since it was read.");
+        }
+
+        parkingSpotMapper.updateModel(parkingSpotDTO, parkingSpot);
+
+        try {
+            ParkingSpotModel savedParkingSpot = parkingSpotService.save(parkingSpot);
+            return ResponseEntity.status(HttpStatus.OK)
+                                 .eTag(EntityTags.of(savedParkingSpot.getVersion()))
+                                 .body(savedParkingSpot);
+        } catch (ConflictException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        }
+    }
+
+    private void writeLine(JsonGenerator generator, Object value) {
+        try {
+            objectMapper.writeValue(generator, value);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -0,0 +1,40 @@
+package com.example.parkingcontrol.dtos;
+
+import java.util.List;
+
+public class BlockOccupancyDTO {
+    private final String block;
+
+    private final int total;
+
+    private final int occupied;
+
+    private final List<String> freeSpots;
+
+    public BlockOccupancyDTO(String block, int total, int occupied, List<String> freeSpots) {
+        this.block = block;
+        this.total = total;
+        this.occupied = occupied;
+        this.freeSpots = freeSpots;
+    }
+
+    public String getBlock() {
+        return block;
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    public int getOccupied() {
+        return occupied;
+    }
+
+    public int getFree() {
+        return total - occupied;
+    }
+
+    public List<String> getFreeSpots() {
+        return freeSpots;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.parkingcontrol.dtos;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+public class CarBatchDTO {
+    @Valid
+    @NotEmpty
+    @Size(max = 1000)
+    private List<CarDTO> cars;
+
+    public List<CarDTO> getCars() {
+        return cars;
+    }
+
+    public void setCars(List<CarDTO> cars) {
+        this.cars = cars;
+    }
+}
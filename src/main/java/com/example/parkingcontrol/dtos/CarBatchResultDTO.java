@@ -0,0 +1,55 @@
+package com.example.parkingcontrol.dtos;
+
+import java.util.UUID;
+
+public class CarBatchResultDTO {
+    public enum Status {
+        CREATED, CONFLICT
+    }
+
+    private final int index;
+
+    private final String licensePlate;
+
+    private final Status status;
+
+    private final UUID id;
+
+    private final String message;
+
+    private CarBatchResultDTO(int index, String licensePlate, Status status, UUID id, String message) {
+        this.index = index;
+        this.licensePlate = licensePlate;
+        this.status = status;
+        this.id = id;
+        this.message = message;
+    }
+
+    public static CarBatchResultDTO created(int index, String licensePlate, UUID id) {
+        return new CarBatchResultDTO(index, licensePlate, Status.CREATED, id, null);
+    }
+
+    public static CarBatchResultDTO conflict(int index, String licensePlate, String message) {
+        return new CarBatchResultDTO(index, licensePlate, Status.CONFLICT, null, message);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getLicensePlate() {
+        return licensePlate;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.parkingcontrol.dtos;
+
+import java.util.List;
+
+public class OccupancyDTO {
+    private final List<BlockOccupancyDTO> blocks;
+
+    public OccupancyDTO(List<BlockOccupancyDTO> blocks) {
+        this.blocks = blocks;
+    }
+
+    public int getTotal() {
+        return blocks.stream().mapToInt(BlockOccupancyDTO::getTotal).sum();
+    }
+
+    public int getOccupied() {
+        return blocks.stream().mapToInt(BlockOccupancyDTO::getOccupied).sum();
+    }
+
+    public int getFree() {
+        return getTotal() - getOccupied();
+    }
+
+    public List<BlockOccupancyDTO> getBlocks() {
+        return blocks;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.parkingcontrol.dtos;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+import java.util.List;
+
+public class ParkingSessionEventBatchDTO {
+    @Valid
+    @NotEmpty
+    @Size(max = 1000)
+    private List<ParkingSessionEventDTO> events;
+
+    public List<ParkingSessionEventDTO> getEvents() {
+        return events;
+    }
+
+    public void setEvents(List<ParkingSessionEventDTO> events) {
+        this.events = events;
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.parkingcontrol.dtos;
+
+import com.example.parkingcontrol.models.SessionEventType;
+
+import javax.validation.constraints.NotBlank;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+
+public class ParkingSessionEventDTO {
+    @NotBlank
+    @Size(min = 7, max = 8)
+    private String licensePlate;
+    @Size(max = 10)
+    private String spotNumber;
+    @NotBlank
+    @Size(max = 30)
+    private String gate;
+    @NotNull
+    private SessionEventType type;
+    @NotNull
+    private LocalDateTime occurredAt;
+
+    public String getLicensePlate() {
+        return licensePlate;
+    }
+
+    public void setLicensePlate(String licensePlate) {
+        this.licensePlate = licensePlate;
+    }
+
+    public String getSpotNumber() {
+        return spotNumber;
+    }
+
+    public void setSpotNumber(String spotNumber) {
+        this.spotNumber = spotNumber;
+    }
+
+    public String getGate() {
+        return gate;
+    }
+
+    public void setGate(String gate) {
+        this.gate = gate;
+    }
+
+    public SessionEventType getType() {
+        return type;
+    }
+
+    public void setType(SessionEventType type) {
+        this.type = type;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+}
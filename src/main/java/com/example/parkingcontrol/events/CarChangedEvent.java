@@ -0,0 +1,68 @@
+package com.example.parkingcontrol.events;
+
+import com.example.parkingcontrol.models.CarModel;
+
+import java.util.UUID;
+
+public class CarChangedEvent {
+    private final ChangeType type;
+
+    private final UUID id;
+
+    private final String licensePlate;
+
+    private final String previousLicensePlate;
+
+    private final UUID parkingSpotId;
+
+    private final String spotNumber;
+
+    public CarChangedEvent(ChangeType type, UUID id, String licensePlate, String previousLicensePlate,
+                           UUID parkingSpotId, String spotNumber) {
+        this.type = type;
+        this.id = id;
+        this.licensePlate = licensePlate;
+        this.previousLicensePlate = previousLicensePlate;
+        this.parkingSpotId = parkingSpotId;
+        this.spotNumber = spotNumber;
+    }
+
+    public static CarChangedEvent of(ChangeType type, CarModel carModel) {
+        UUID parkingSpotId = null;
+        String spotNumber = null;
+        if (carModel.getParkingSpot() != null) {
+            parkingSpotId = carModel.getParkingSpot().getId();
+            spotNumber = carModel.getParkingSpot().getSpotNumber();
+        }
+
+        return new CarChangedEvent(type, carModel.getId(), carModel.getLicensePlate(),
+                                   carModel.getStoredLicensePlate(), parkingSpotId, spotNumber);
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getLicensePlate() {
+        return licensePlate;
+    }
+
+    /**
+     * The license plate before this change, or {@code null} for a new car.
+     */
+    public String getPreviousLicensePlate() {
+        return previousLicensePlate;
+    }
+
+    public UUID getParkingSpotId() {
+        return parkingSpotId;
+    }
+
+    public String getSpotNumber() {
+        return spotNumber;
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.parkingcontrol.events;
+
+public enum ChangeType {
+    CREATED, UPDATED, DELETED
+}
@@ -0,0 +1,63 @@
+package com.example.parkingcontrol.events;
+
+import com.example.parkingcontrol.models.CarModel;
+import com.example.parkingcontrol.models.ParkingSpotModel;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * JPA entity listener that turns flushed writes, including cascaded ones, into application events. Consumers that
+ * must only see committed state listen with {@code @TransactionalEventListener}. Each model also remembers the natural
+ * key it was loaded or written with, so the event of a change can name the key it had before.
+ */
+@Component
+public class ModelChangeListener {
+    private final ApplicationEventPublisher eventPublisher;
+
+    public ModelChangeListener(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+    }
+
+    @PostLoad
+    public void onLoad(Object model) {
+        markStored(model);
+    }
+
+    @PostPersist
+    public void onPersist(Object model) {
+        publish(ChangeType.CREATED, model);
+        markStored(model);
+    }
+
+    @PostUpdate
+    public void onUpdate(Object model) {
+        publish(ChangeType.UPDATED, model);
+        markStored(model);
+    }
+
+    @PostRemove
+    public void onRemove(Object model) {
+        publish(ChangeType.DELETED, model);
+    }
+
+    private void publish(ChangeType type, Object model) {
+        if (model instanceof CarModel) {
+            eventPublisher.publishEvent(CarChangedEvent.of(type, (CarModel) model));
+        } else if (model instanceof ParkingSpotModel) {
+            eventPublisher.publishEvent(ParkingSpotChangedEvent.of(type, (ParkingSpotModel) model));
+        }
+    }
+
+    private static void markStored(Object model) {
+        if (model instanceof CarModel) {
+            ((CarModel) model).markStored();
+        } else if (model instanceof ParkingSpotModel) {
+            ((ParkingSpotModel) model).markStored();
+        }
+    }
+}
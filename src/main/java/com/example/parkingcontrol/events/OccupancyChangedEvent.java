@@ -0,0 +1,40 @@
+package com.example.parkingcontrol.events;
+
+import java.util.UUID;
+
+public class OccupancyChangedEvent {
+    public enum Type {
+        SPOT_CREATED, CAR_ASSIGNED, CAR_REMOVED, SPOT_DELETED
+    }
+
+    private final Type type;
+
+    private final UUID parkingSpotId;
+
+    private final String spotNumber;
+
+    private final String block;
+
+    public OccupancyChangedEvent(Type type, UUID parkingSpotId, String spotNumber, String block) {
+        this.type = type;
+        this.parkingSpotId = parkingSpotId;
+        this.spotNumber = spotNumber;
+        this.block = block;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public UUID getParkingSpotId() {
+        return parkingSpotId;
+    }
+
+    public String getSpotNumber() {
+        return spotNumber;
+    }
+
+    public String getBlock() {
+        return block;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.parkingcontrol.events;
+
+import com.example.parkingcontrol.models.ParkingSpotModel;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class ParkingSpotChangedEvent {
+    private final ChangeType type;
+
+    private final UUID id;
+
+    private final String spotNumber;
+
+    private final String previousSpotNumber;
+
+    private final LocalDateTime registrationDate;
+
+    private final String owner;
+
+    private final String apartment;
+
+    private final String block;
+
+    private final UUID carId;
+
+    private final String carLicensePlate;
+
+    public ParkingSpotChangedEvent(ChangeType type, UUID id, String spotNumber, String previousSpotNumber,
+                                   LocalDateTime registrationDate, String owner, String apartment, String block,
+                                   UUID carId, String carLicensePlate) {
+        this.type = type;
+        this.id = id;
+        this.spotNumber = spotNumber;
+        this.previousSpotNumber = previousSpotNumber;
+        this.registrationDate = registrationDate;
+        this.owner = owner;
+        this.apartment = apartment;
+        this.block = block;
+        this.carId = carId;
+        this.carLicensePlate = carLicensePlate;
+    }
+
+    public static ParkingSpotChangedEvent of(ChangeType type, ParkingSpotModel parkingSpot) {
+        UUID carId = null;
+        String carLicensePlate = null;
+        if (parkingSpot.getCar() != null) {
+            carId = parkingSpot.getCar().getId();
+            carLicensePlate = parkingSpot.getCar().getLicensePlate();
+        }
+
+        return new ParkingSpotChangedEvent(type, parkingSpot.getId(), parkingSpot.getSpotNumber(),
+                                           parkingSpot.getStoredSpotNumber(), parkingSpot.getRegistrationDate(),
+                                           parkingSpot.getOwner(), parkingSpot.getApartment(), parkingSpot.getBlock(),
+                                           carId, carLicensePlate);
+    }
+
+    public ChangeType getType() {
+        return type;
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getSpotNumber() {
+        return spotNumber;
+    }
+
+    /**
+     * The spot number before this change, or {@code null} for a new parking spot.
+     */
+    public String getPreviousSpotNumber() {
+        return previousSpotNumber;
+    }
+
+    public LocalDateTime getRegistrationDate() {
+        return registrationDate;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public String getApartment() {
+        return apartment;
+    }
+
+    public String getBlock() {
+        return block;
+    }
+
+    public UUID getCarId() {
+        return carId;
+    }
+
+    public String getCarLicensePlate() {
+        return carLicensePlate;
+    }
+}
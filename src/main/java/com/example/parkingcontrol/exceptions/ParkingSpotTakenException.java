@@ -0,0 +1,11 @@
+package com.example.parkingcontrol.exceptions;
+
+public class ParkingSpotTakenException extends ConflictException {
+    public ParkingSpotTakenException(String message) {
+        super(message);
+    }
+
+    public ParkingSpotTakenException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
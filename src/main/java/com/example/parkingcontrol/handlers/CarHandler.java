@@ -0,0 +1,59 @@
+package com.example.parkingcontrol.handlers;
+
+import com.example.parkingcontrol.controllers.EntityTags;
+import com.example.parkingcontrol.projections.CarView;
+import com.example.parkingcontrol.repositories.ReactiveCarRepository;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+public class CarHandler {
+    private final ReactiveCarRepository carRepository;
+
+    public CarHandler(ReactiveCarRepository carRepository) {
+        this.carRepository = carRepository;
+    }
+
+    public Mono<ServerResponse> findById(ServerRequest request) {
+        UUID id;
+        try {
+            id = UUID.fromString(request.pathVariable("id"));
+        } catch (IllegalArgumentException e) {
+            return ServerResponse.badRequest().build();
+        }
+
+        return carRepository.findViewById(id)
+                            .flatMap(view -> respondTagged(request, view))
+                            .switchIfEmpty(Mono.defer(CarHandler::notFound));
+    }
+
+    public Mono<ServerResponse> findByLicensePlate(ServerRequest request) {
+        return respond(request, carRepository.findViewByLicensePlate(request.queryParam("number").orElse("")));
+    }
+
+    private static Mono<ServerResponse> respond(ServerRequest request, Mono<CarView> car) {
+        return car.flatMap(view -> ok(request).bodyValue(view)).switchIfEmpty(Mono.defer(CarHandler::notFound));
+    }
+
+    // Tagged with the versions of what it returns, like the servlet endpoint
+    private static Mono<ServerResponse> respondTagged(ServerRequest request, CarView view) {
+        String etag = EntityTags.of(view);
+
+        return request.checkNotModified(etag).switchIfEmpty(Mono.defer(() -> ok(request).eTag(etag).bodyValue(view)));
+    }
+
+    private static ServerResponse.BodyBuilder ok(ServerRequest request) {
+        return ServerResponse.ok().contentType(ResponseFormats.negotiate(request)).varyBy(HttpHeaders.ACCEPT);
+    }
+
+    private static Mono<ServerResponse> notFound() {
+        return ServerResponse.status(HttpStatus.NOT_FOUND)
+                             .contentType(MediaType.TEXT_PLAIN)
+                             .bodyValue("Car not found.");
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.parkingcontrol.handlers;
+
+import com.example.parkingcontrol.controllers.EntityTags;
+import com.example.parkingcontrol.projections.ParkingSpotView;
+import com.example.parkingcontrol.repositories.ReactiveParkingSpotRepository;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+import org.springframework.web.reactive.function.server.ServerResponse;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+public class ParkingSpotHandler {
+    private final ReactiveParkingSpotRepository parkingSpotRepository;
+
+    public ParkingSpotHandler(ReactiveParkingSpotRepository parkingSpotRepository) {
+        this.parkingSpotRepository = parkingSpotRepository;
+    }
+
+    public Mono<ServerResponse> findById(ServerRequest request) {
+        UUID id;
+        try {
+            id = UUID.fromString(request.pathVariable("id"));
+        } catch (IllegalArgumentException e) {
+            return ServerResponse.badRequest().build();
+        }
+
+        return parkingSpotRepository.findViewById(id)
+                                    .flatMap(view -> respondTagged(request, view))
+                                    .switchIfEmpty(Mono.defer(ParkingSpotHandler::notFound));
+    }
+
+    public Mono<ServerResponse> findBySpotNumber(ServerRequest request) {
+        return respond(request, parkingSpotRepository.findViewBySpotNumber(request.queryParam("spot").orElse("")));
+    }
+
+    public Mono<ServerResponse> findByApartment(ServerRequest request) {
+        return respond(request, parkingSpotRepository.findViewByApartment(request.queryParam("number").orElse("")));
+    }
+
+    public Mono<ServerResponse> findByOwner(ServerRequest request) {
+        return respond(request, parkingSpotRepository.findViewByOwner(request.queryParam("name").orElse("")));
+    }
+
+    private static Mono<ServerResponse> respond(ServerRequest request, Mono<ParkingSpotView> parkingSpot) {
+        return parkingSpot.flatMap(view -> ok(request).bodyValue(view))
+                          .switchIfEmpty(Mono.defer(ParkingSpotHandler::notFound));
+    }
+
+    // Tagged with the versions of what it returns, like the servlet endpoint
+    private static Mono<ServerResponse> respondTagged(ServerRequest request, ParkingSpotView view) {
+        String etag = EntityTags.of(view);
+
+        return request.checkNotModified(etag).switchIfEmpty(Mono.defer(() -> ok(request).eTag(etag).bodyValue(view)));
+    }
+
+    private static ServerResponse.BodyBuilder ok(ServerRequest request) {
+        return ServerResponse.ok().contentType(ResponseFormats.negotiate(request)).varyBy(HttpHeaders.ACCEPT);
+    }
+
+    private static Mono<ServerResponse> notFound() {
+        return ServerResponse.status(HttpStatus.NOT_FOUND)
+                             .contentType(MediaType.TEXT_PLAIN)
+                             .bodyValue("Parking spot not found.");
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.parkingcontrol.handlers;
+
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.server.ServerRequest;
+
+import java.util.List;
+
+/**
+ * Picks the response format from the {@code Accept} header. Functional endpoints write with the first codec that can
+ * handle the content type, so the type has to be chosen here, like the servlet stack does through content negotiation.
+ */
+final class ResponseFormats {
+    static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+
+    private static final List<MediaType> SUPPORTED = List.of(MediaType.APPLICATION_JSON, SMILE,
+                                                             MediaType.APPLICATION_CBOR);
+
+    private ResponseFormats() {
+    }
+
+    /**
+     * The supported format the client prefers, or JSON when it accepts none of them.
+     */
+    static MediaType negotiate(ServerRequest request) {
+        List<MediaType> accepted = request.headers().accept();
+        MediaType.sortBySpecificityAndQuality(accepted);
+        for (MediaType acceptedType : accepted) {
+            for (MediaType supported : SUPPORTED) {
+                if (acceptedType.isCompatibleWith(supported)) {
+                    return supported;
+                }
+            }
+        }
+
+        return MediaType.APPLICATION_JSON;
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.parkingcontrol.mappers;
+
+import com.example.parkingcontrol.dtos.CarDTO;
+import com.example.parkingcontrol.models.CarModel;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+
+@Mapper(componentModel = "spring")
+public interface CarMapper {
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "parkingSpot", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    CarModel toModel(CarDTO carDTO);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "parkingSpot", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    void updateModel(CarDTO carDTO, @MappingTarget CarModel carModel);
+}
@@ -0,0 +1,17 @@
+package com.example.parkingcontrol.mappers;
+
+import com.example.parkingcontrol.dtos.ParkingSessionEventDTO;
+import com.example.parkingcontrol.models.ParkingSessionEventModel;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+import java.util.List;
+
+@Mapper(componentModel = "spring")
+public interface ParkingSessionEventMapper {
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "recordedAt", ignore = true)
+    ParkingSessionEventModel toModel(ParkingSessionEventDTO parkingSessionEventDTO);
+
+    List<ParkingSessionEventModel> toModels(List<ParkingSessionEventDTO> parkingSessionEventDTOs);
+}
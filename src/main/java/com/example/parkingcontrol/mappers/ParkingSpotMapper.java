@@ -0,0 +1,28 @@
+package com.example.parkingcontrol.mappers;
+
+import com.example.parkingcontrol.dtos.ParkingSpotDTO;
+import com.example.parkingcontrol.models.ParkingSpotModel;
+import org.mapstruct.InjectionStrategy;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingTarget;
+import org.mapstruct.NullValuePropertyMappingStrategy;
+
+@Mapper(componentModel = "spring", uses = CarMapper.class, injectionStrategy = InjectionStrategy.CONSTRUCTOR)
+public interface ParkingSpotMapper {
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "registrationDate", ignore = true)
+    @Mapping(target = "car", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    ParkingSpotModel toModel(ParkingSpotDTO parkingSpotDTO);
+
+    /**
+     * Updates the parking spot in place. The parked car is updated in place too, or created if the spot had none,
+     * and is left untouched when the request carries no car.
+     */
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "registrationDate", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "car", nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    void updateModel(ParkingSpotDTO parkingSpotDTO, @MappingTarget ParkingSpotModel parkingSpot);
+}
@@ -1,18 +1,29 @@
 package com.example.parkingcontrol.models;
 
+import com.example.parkingcontrol.events.ModelChangeListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
 import java.io.Serializable;
 import java.util.UUID;
 
 @Entity
+@EntityListeners(ModelChangeListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CarModel.CACHE_REGION)
 @Table(name = "car")
 public class CarModel implements Serializable {
     public static final long serialVersionUID = 1L;
+    public static final String CACHE_REGION = "cars";
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = TimeOrderedUuidGenerator.NAME)
+    @GenericGenerator(name = TimeOrderedUuidGenerator.NAME, strategy = TimeOrderedUuidGenerator.STRATEGY)
+    @Column(columnDefinition = "uuid")
     private UUID id;
 
     @Column(nullable = false, unique = true, length = 8)
@@ -29,9 +40,17 @@ public class CarModel implements Serializable {
 
     @JsonIgnoreProperties("car")
     @OneToOne(cascade = CascadeType.REFRESH)
-    @JoinColumn(name = "parking_spot_id")
+    @JoinColumn(name = "parking_spot_id", columnDefinition = "uuid")
     private ParkingSpotModel parkingSpot;
 
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0 not null")
+    private long version;
+
+    // The license plate as last loaded or written, so a change can evict the lookup cached under the old one too
+    @Transient
+    private String storedLicensePlate;
+
     public UUID getId() {
         return id;
     }
@@ -72,6 +91,14 @@ public class CarModel implements Serializable {
         this.color = color;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public ParkingSpotModel getParkingSpot() {
         return parkingSpot;
     }
@@ -79,4 +106,13 @@ public class CarModel implements Serializable {
     public void setParkingSpot(ParkingSpotModel parkingSpot) {
         this.parkingSpot = parkingSpot;
     }
+
+    @JsonIgnore
+    public String getStoredLicensePlate() {
+        return storedLicensePlate;
+    }
+
+    public void markStored() {
+        this.storedLicensePlate = licensePlate;
+    }
 }
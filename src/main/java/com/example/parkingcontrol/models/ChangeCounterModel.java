@@ -0,0 +1,36 @@
+package com.example.parkingcontrol.models;
+
+import javax.persistence.*;
+import java.io.Serializable;
+
+/**
+ * The single row counting committed changes to cars and parking spots. It lives in the database, so every instance
+ * of the application reads and bumps the same count. Only {@code ChangeCounter} touches it, through JDBC.
+ */
+@Entity
+@Table(name = "change_counter")
+public class ChangeCounterModel implements Serializable {
+    public static final long serialVersionUID = 1L;
+
+    @Id
+    private int id;
+
+    @Column(nullable = false)
+    private long changes;
+
+    public int getId() {
+        return id;
+    }
+
+    public void setId(int id) {
+        this.id = id;
+    }
+
+    public long getChanges() {
+        return changes;
+    }
+
+    public void setChanges(long changes) {
+        this.changes = changes;
+    }
+}
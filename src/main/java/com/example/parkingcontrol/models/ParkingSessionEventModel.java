@@ -0,0 +1,100 @@
+package com.example.parkingcontrol.models;
+
+import org.hibernate.annotations.Immutable;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * One gate entry or exit. Rows are only ever appended, by {@code ParkingSessionLedger}, so a car's sessions are the
+ * pairs of its consecutive entries and exits.
+ */
+@Entity
+@Immutable
+@Table(name = "parking_session_event", indexes = {
+        @Index(name = "ix_parking_session_event_license_plate", columnList = "licensePlate, occurredAt")
+})
+public class ParkingSessionEventModel implements Serializable {
+    public static final long serialVersionUID = 1L;
+
+    @Id
+    @Column(columnDefinition = "uuid")
+    private UUID id;
+
+    @Column(nullable = false, length = 8)
+    private String licensePlate;
+
+    @Column(length = 10)
+    private String spotNumber;
+
+    @Column(nullable = false, length = 30)
+    private String gate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 5)
+    private SessionEventType type;
+
+    @Column(nullable = false)
+    private LocalDateTime occurredAt;
+
+    @Column(nullable = false)
+    private LocalDateTime recordedAt;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(UUID id) {
+        this.id = id;
+    }
+
+    public String getLicensePlate() {
+        return licensePlate;
+    }
+
+    public void setLicensePlate(String licensePlate) {
+        this.licensePlate = licensePlate;
+    }
+
+    public String getSpotNumber() {
+        return spotNumber;
+    }
+
+    public void setSpotNumber(String spotNumber) {
+        this.spotNumber = spotNumber;
+    }
+
+    public String getGate() {
+        return gate;
+    }
+
+    public void setGate(String gate) {
+        this.gate = gate;
+    }
+
+    public SessionEventType getType() {
+        return type;
+    }
+
+    public void setType(SessionEventType type) {
+        this.type = type;
+    }
+
+    public LocalDateTime getOccurredAt() {
+        return occurredAt;
+    }
+
+    public void setOccurredAt(LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+    }
+
+    public LocalDateTime getRecordedAt() {
+        return recordedAt;
+    }
+
+    public void setRecordedAt(LocalDateTime recordedAt) {
+        this.recordedAt = recordedAt;
+    }
+}
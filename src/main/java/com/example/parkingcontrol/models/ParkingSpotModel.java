@@ -1,6 +1,11 @@
 package com.example.parkingcontrol.models;
 
+import com.example.parkingcontrol.events.ModelChangeListener;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.GenericGenerator;
 
 import javax.persistence.*;
 import java.io.Serializable;
@@ -8,15 +13,33 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
-@Table(name = "parking_spot")
+@EntityListeners(ModelChangeListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = ParkingSpotModel.CACHE_REGION)
+@Table(name = "parking_spot", uniqueConstraints = {
+        @UniqueConstraint(name = ParkingSpotModel.SPOT_NUMBER_CONSTRAINT, columnNames = "spotNumber"),
+        @UniqueConstraint(name = ParkingSpotModel.APARTMENT_AND_BLOCK_CONSTRAINT, columnNames = {"apartment", "block"})
+}, indexes = {
+        @Index(name = "ix_parking_spot_registration_date", columnList = "registrationDate, id")
+})
 public class ParkingSpotModel implements Serializable {
     public static final long serialVersionUID = 1L;
+    public static final String CACHE_REGION = "parkingSpots";
+    public static final String SPOT_NUMBER_CONSTRAINT = "uk_parking_spot_spot_number";
+    public static final String APARTMENT_AND_BLOCK_CONSTRAINT = "uk_parking_spot_apartment_block";
+    /**
+     * Name Hibernate generated for the spot number constraint before the constraints were named. Databases created
+     * back then still carry it.
+     */
+    public static final String LEGACY_SPOT_NUMBER_CONSTRAINT = "uk_9vjgqsd6ecmkx0x8ek42i23qs";
 
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(generator = TimeOrderedUuidGenerator.NAME)
+    @GenericGenerator(name = TimeOrderedUuidGenerator.NAME, strategy = TimeOrderedUuidGenerator.STRATEGY)
+    @Column(columnDefinition = "uuid")
     private UUID id;
 
-    @Column(nullable = false, unique = true, length = 10)
+    @Column(nullable = false, length = 10)
     private String spotNumber;
 
     @Column(nullable = false)
@@ -35,6 +58,15 @@ public class ParkingSpotModel implements Serializable {
     @OneToOne(mappedBy = "parkingSpot", cascade = CascadeType.ALL, orphanRemoval = true)
     private CarModel car;
 
+    // Checked on every update, so a write based on a stale read fails instead of overwriting a newer one
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0 not null")
+    private long version;
+
+    // The spot number as last loaded or written, so a change can evict the lookup cached under the old one too
+    @Transient
+    private String storedSpotNumber;
+
     public UUID getId() {
         return id;
     }
@@ -83,6 +115,14 @@ public class ParkingSpotModel implements Serializable {
         this.block = block;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public CarModel getCar() {
         return car;
     }
@@ -95,4 +135,13 @@ public class ParkingSpotModel implements Serializable {
     public void removeChild() {
         this.car = null;
     }
+
+    @JsonIgnore
+    public String getStoredSpotNumber() {
+        return storedSpotNumber;
+    }
+
+    public void markStored() {
+        this.storedSpotNumber = spotNumber;
+    }
 }
@@ -0,0 +1,5 @@
+package com.example.parkingcontrol.models;
+
+public enum SessionEventType {
+    ENTRY, EXIT
+}
@@ -0,0 +1,39 @@
+package com.example.parkingcontrol.models;
+
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+
+import java.io.Serializable;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Generates UUIDv7 primary keys: a millisecond Unix timestamp followed by a 12-bit sequence and 62 random bits.
+ * Consecutive inserts then append to the right edge of the primary key index instead of landing on a random leaf.
+ * Ids are strictly increasing within the JVM, also when the clock steps back or more than 4096 ids are taken in one
+ * millisecond, in which case the timestamp runs ahead until the clock catches up.
+ */
+public class TimeOrderedUuidGenerator implements IdentifierGenerator {
+    public static final String NAME = "time-ordered-uuid";
+
+    public static final String STRATEGY = "com.example.parkingcontrol.models.TimeOrderedUuidGenerator";
+
+    // Timestamp in the upper 48 bits, sequence in the lower 12
+    private static final AtomicLong LAST = new AtomicLong();
+
+    @Override
+    public Serializable generate(SharedSessionContractImplementor session, Object object) {
+        return next();
+    }
+
+    public static UUID next() {
+        long candidate = System.currentTimeMillis() << 12;
+        long current = LAST.updateAndGet(last -> Math.max(candidate, last + 1));
+
+        long mostSigBits = (current >>> 12) << 16 | 0x7000L | (current & 0xFFFL);
+        long leastSigBits = ThreadLocalRandom.current().nextLong() >>> 2 | 0x8000000000000000L;
+
+        return new UUID(mostSigBits, leastSigBits);
+    }
+}
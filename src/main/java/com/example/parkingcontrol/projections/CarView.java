@@ -0,0 +1,139 @@
+package com.example.parkingcontrol.projections;
+
+import com.example.parkingcontrol.models.CarModel;
+import com.example.parkingcontrol.models.ParkingSpotModel;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class CarView {
+    private final UUID id;
+
+    private final String licensePlate;
+
+    private final String brand;
+
+    private final String model;
+
+    private final String color;
+
+    private final long version;
+
+    private final ParkingSpotSummary parkingSpot;
+
+    // Only used to tag the view, so that it changes with the embedded parking spot
+    @JsonIgnore
+    private final Long parkingSpotVersion;
+
+    public CarView(UUID id, String licensePlate, String brand, String model, String color, long version,
+                   ParkingSpotSummary parkingSpot, Long parkingSpotVersion) {
+        this.id = id;
+        this.licensePlate = licensePlate;
+        this.brand = brand;
+        this.model = model;
+        this.color = color;
+        this.version = version;
+        this.parkingSpot = parkingSpot;
+        this.parkingSpotVersion = parkingSpotVersion;
+    }
+
+    public CarView(UUID id, String licensePlate, String brand, String model, String color, long version,
+                   UUID parkingSpotId, String spotNumber, LocalDateTime registrationDate, String owner,
+                   String apartment, String block, Long parkingSpotVersion) {
+        this(id, licensePlate, brand, model, color, version, parkingSpotId == null ? null : new ParkingSpotSummary(
+                parkingSpotId, spotNumber, registrationDate, owner, apartment, block), parkingSpotVersion);
+    }
+
+    public static CarView of(CarModel car) {
+        ParkingSpotModel parkingSpot = car.getParkingSpot();
+
+        return parkingSpot == null
+               ? new CarView(car.getId(), car.getLicensePlate(), car.getBrand(), car.getModel(), car.getColor(),
+                             car.getVersion(), null, null)
+               : new CarView(car.getId(), car.getLicensePlate(), car.getBrand(), car.getModel(), car.getColor(),
+                             car.getVersion(), parkingSpot.getId(), parkingSpot.getSpotNumber(),
+                             parkingSpot.getRegistrationDate(), parkingSpot.getOwner(), parkingSpot.getApartment(),
+                             parkingSpot.getBlock(), parkingSpot.getVersion());
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getLicensePlate() {
+        return licensePlate;
+    }
+
+    public String getBrand() {
+        return brand;
+    }
+
+    public String getModel() {
+        return model;
+    }
+
+    public String getColor() {
+        return color;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public ParkingSpotSummary getParkingSpot() {
+        return parkingSpot;
+    }
+
+    public Long getParkingSpotVersion() {
+        return parkingSpotVersion;
+    }
+
+    public static class ParkingSpotSummary {
+        private final UUID id;
+
+        private final String spotNumber;
+
+        private final LocalDateTime registrationDate;
+
+        private final String owner;
+
+        private final String apartment;
+
+        private final String block;
+
+        public ParkingSpotSummary(UUID id, String spotNumber, LocalDateTime registrationDate, String owner,
+                                  String apartment, String block) {
+            this.id = id;
+            this.spotNumber = spotNumber;
+            this.registrationDate = registrationDate;
+            this.owner = owner;
+            this.apartment = apartment;
+            this.block = block;
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        public String getSpotNumber() {
+            return spotNumber;
+        }
+
+        public LocalDateTime getRegistrationDate() {
+            return registrationDate;
+        }
+
+        public String getOwner() {
+            return owner;
+        }
+
+        public String getApartment() {
+            return apartment;
+        }
+
+        public String getBlock() {
+            return block;
+        }
+    }
+}
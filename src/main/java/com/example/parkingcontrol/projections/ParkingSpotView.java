@@ -0,0 +1,141 @@
+package com.example.parkingcontrol.projections;
+
+import com.example.parkingcontrol.models.CarModel;
+import com.example.parkingcontrol.models.ParkingSpotModel;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public class ParkingSpotView {
+    private final UUID id;
+
+    private final String spotNumber;
+
+    private final LocalDateTime registrationDate;
+
+    private final String owner;
+
+    private final String apartment;
+
+    private final String block;
+
+    private final long version;
+
+    private final CarSummary car;
+
+    // Only used to tag the view, so that it changes with the embedded car
+    @JsonIgnore
+    private final Long carVersion;
+
+    public ParkingSpotView(UUID id, String spotNumber, LocalDateTime registrationDate, String owner, String apartment,
+                           String block, long version, CarSummary car, Long carVersion) {
+        this.id = id;
+        this.spotNumber = spotNumber;
+        this.registrationDate = registrationDate;
+        this.owner = owner;
+        this.apartment = apartment;
+        this.block = block;
+        this.version = version;
+        this.car = car;
+        this.carVersion = carVersion;
+    }
+
+    public ParkingSpotView(UUID id, String spotNumber, LocalDateTime registrationDate, String owner, String apartment,
+                           String block, long version, UUID carId, String licensePlate, String brand, String model,
+                           String color, Long carVersion) {
+        this(id, spotNumber, registrationDate, owner, apartment, block, version,
+             carId == null ? null : new CarSummary(carId, licensePlate, brand, model, color), carVersion);
+    }
+
+    public static ParkingSpotView of(ParkingSpotModel parkingSpot) {
+        CarModel car = parkingSpot.getCar();
+
+        return car == null
+               ? new ParkingSpotView(parkingSpot.getId(), parkingSpot.getSpotNumber(),
+                                     parkingSpot.getRegistrationDate(), parkingSpot.getOwner(),
+                                     parkingSpot.getApartment(), parkingSpot.getBlock(), parkingSpot.getVersion(),
+                                     null, null)
+               : new ParkingSpotView(parkingSpot.getId(), parkingSpot.getSpotNumber(),
+                                     parkingSpot.getRegistrationDate(), parkingSpot.getOwner(),
+                                     parkingSpot.getApartment(), parkingSpot.getBlock(), parkingSpot.getVersion(),
+                                     car.getId(), car.getLicensePlate(), car.getBrand(), car.getModel(),
+                                     car.getColor(), car.getVersion());
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getSpotNumber() {
+        return spotNumber;
+    }
+
+    public LocalDateTime getRegistrationDate() {
+        return registrationDate;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public String getApartment() {
+        return apartment;
+    }
+
+    public String getBlock() {
+        return block;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public CarSummary getCar() {
+        return car;
+    }
+
+    public Long getCarVersion() {
+        return carVersion;
+    }
+
+    public static class CarSummary {
+        private final UUID id;
+
+        private final String licensePlate;
+
+        private final String brand;
+
+        private final String model;
+
+        private final String color;
+
+        public CarSummary(UUID id, String licensePlate, String brand, String model, String color) {
+            this.id = id;
+            this.licensePlate = licensePlate;
+            this.brand = brand;
+            this.model = model;
+            this.color = color;
+        }
+
+        public UUID getId() {
+            return id;
+        }
+
+        public String getLicensePlate() {
+            return licensePlate;
+        }
+
+        public String getBrand() {
+            return brand;
+        }
+
+        public String getModel() {
+            return model;
+        }
+
+        public String getColor() {
+            return color;
+        }
+    }
+}
@@ -1,14 +1,57 @@
 package com.example.parkingcontrol.repositories;
 
 import com.example.parkingcontrol.models.CarModel;
+import com.example.parkingcontrol.projections.CarView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface CarRepository extends JpaRepository<CarModel, UUID> {
+    String SELECT_CAR_VIEW = "select new com.example.parkingcontrol.projections.CarView("
+                             + "c.id, c.licensePlate, c.brand, c.model, c.color, c.version, p.id, p.spotNumber,"
+                             + " p.registrationDate, p.owner, p.apartment, p.block, p.version)"
+                             + " from CarModel c left join c.parkingSpot p";
+
+    @Override
+    @EntityGraph(attributePaths = "parkingSpot")
+    List<CarModel> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "parkingSpot")
+    Optional<CarModel> findById(UUID id);
 
-    Optional<CarModel> findByLicensePlate(String licensePlate);
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_CAR_VIEW + " where c.licensePlate = :licensePlate")
+    Optional<CarView> findViewByLicensePlate(@Param("licensePlate") String licensePlate);
 
     boolean existsByLicensePlate(String licensePlate);
+
+    @Query("select c.licensePlate from CarModel c where c.licensePlate in :licensePlates")
+    Set<String> findExistingLicensePlates(@Param("licensePlates") Collection<String> licensePlates);
+
+    @Query(SELECT_CAR_VIEW + " order by c.id asc")
+    Slice<CarView> findViewPage(Pageable pageable);
+
+    @Query(SELECT_CAR_VIEW + " where c.id > :id order by c.id asc")
+    Slice<CarView> findViewPageAfter(@Param("id") UUID id, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select c from CarModel c left join fetch c.parkingSpot")
+    Stream<CarModel> streamAll();
 }
@@ -1,19 +1,66 @@
 package com.example.parkingcontrol.repositories;
 
 import com.example.parkingcontrol.models.ParkingSpotModel;
+import com.example.parkingcontrol.projections.ParkingSpotView;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
+import javax.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 public interface ParkingSpotRepository extends JpaRepository<ParkingSpotModel, UUID> {
-    Optional<ParkingSpotModel> findBySpotNumber(String spotNumber);
+    String SELECT_PARKING_SPOT_VIEW = "select new com.example.parkingcontrol.projections.ParkingSpotView("
+                                      + "p.id, p.spotNumber, p.registrationDate, p.owner, p.apartment, p.block,"
+                                      + " p.version, c.id, c.licensePlate, c.brand, c.model, c.color, c.version)"
+                                      + " from ParkingSpotModel p left join p.car c";
+
+    @Override
+    @EntityGraph(attributePaths = "car")
+    List<ParkingSpotModel> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "car")
+    Optional<ParkingSpotModel> findById(UUID id);
+
+    @QueryHints(@QueryHint(name = HINT_CACHEABLE, value = "true"))
+    @Query(SELECT_PARKING_SPOT_VIEW + " where p.spotNumber = :spotNumber")
+    Optional<ParkingSpotView> findViewBySpotNumber(@Param("spotNumber") String spotNumber);
+
+    @Query(SELECT_PARKING_SPOT_VIEW + " where p.apartment = :apartment")
+    Optional<ParkingSpotView> findViewByApartment(@Param("apartment") String apartment);
+
+    @Query(SELECT_PARKING_SPOT_VIEW + " where upper(p.owner) = upper(:owner)")
+    Optional<ParkingSpotView> findViewByOwner(@Param("owner") String owner);
 
-    Optional<ParkingSpotModel> findByApartment(String apartment);
+    @Query(SELECT_PARKING_SPOT_VIEW + " order by p.block asc, p.spotNumber asc")
+    List<ParkingSpotView> findAllViews();
 
-    Optional<ParkingSpotModel> findByOwnerIgnoreCase(String owner);
+    @Query(SELECT_PARKING_SPOT_VIEW + " order by p.registrationDate asc, p.id asc")
+    Slice<ParkingSpotView> findViewPage(Pageable pageable);
 
-    boolean existsBySpotNumber(String spotNumber);
+    @Query(SELECT_PARKING_SPOT_VIEW
+            + " where p.registrationDate > :registrationDate"
+            + " or (p.registrationDate = :registrationDate and p.id > :id)"
+            + " order by p.registrationDate asc, p.id asc")
+    Slice<ParkingSpotView> findViewPageAfter(
+            @Param("registrationDate") LocalDateTime registrationDate,
+            @Param("id") UUID id,
+            Pageable pageable
+    );
 
-    boolean existsByApartmentAndBlock(String apartment, String block);
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "500"))
+    @Query("select p from ParkingSpotModel p left join fetch p.car")
+    Stream<ParkingSpotModel> streamAll();
 }
@@ -0,0 +1,50 @@
+package com.example.parkingcontrol.repositories;
+
+import com.example.parkingcontrol.projections.CarView;
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of the {@link CarRepository} lookups, reading the same tables through R2DBC.
+ */
+public class ReactiveCarRepository {
+    static final String SELECT_CAR_VIEW = "select c.id, c.license_plate, c.brand, c.model, c.color,"
+                                          + " c.version, p.id as parking_spot_id, p.spot_number,"
+                                          + " p.registration_date, p.owner, p.apartment, p.block,"
+                                          + " p.version as parking_spot_version"
+                                          + " from car c left join parking_spot p on p.id = c.parking_spot_id";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveCarRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<CarView> findViewById(UUID id) {
+        return databaseClient.sql(SELECT_CAR_VIEW + " where c.id = :id")
+                             .bind("id", id)
+                             .map(ReactiveCarRepository::toView)
+                             .one();
+    }
+
+    public Mono<CarView> findViewByLicensePlate(String licensePlate) {
+        return databaseClient.sql(SELECT_CAR_VIEW + " where c.license_plate = :licensePlate")
+                             .bind("licensePlate", licensePlate)
+                             .map(ReactiveCarRepository::toView)
+                             .one();
+    }
+
+    private static CarView toView(Row row) {
+        return new CarView(row.get("id", UUID.class), row.get("license_plate", String.class),
+                           row.get("brand", String.class), row.get("model", String.class),
+                           row.get("color", String.class), row.get("version", Long.class),
+                           row.get("parking_spot_id", UUID.class), row.get("spot_number", String.class),
+                           row.get("registration_date", LocalDateTime.class), row.get("owner", String.class),
+                           row.get("apartment", String.class), row.get("block", String.class),
+                           row.get("parking_spot_version", Long.class));
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.parkingcontrol.repositories;
+
+import com.example.parkingcontrol.projections.ParkingSpotView;
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Non-blocking counterpart of the {@link ParkingSpotRepository} lookups, reading the same tables through R2DBC.
+ */
+public class ReactiveParkingSpotRepository {
+    static final String SELECT_PARKING_SPOT_VIEW = "select p.id, p.spot_number, p.registration_date, p.owner,"
+                                                   + " p.apartment, p.block, p.version, c.id as car_id,"
+                                                   + " c.license_plate, c.brand, c.model, c.color,"
+                                                   + " c.version as car_version"
+                                                   + " from parking_spot p left join car c"
+                                                   + " on c.parking_spot_id = p.id";
+
+    private final DatabaseClient databaseClient;
+
+    public ReactiveParkingSpotRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    public Mono<ParkingSpotView> findViewById(UUID id) {
+        return findOne(" where p.id = :value", id);
+    }
+
+    public Mono<ParkingSpotView> findViewBySpotNumber(String spotNumber) {
+        return findOne(" where p.spot_number = :value", spotNumber);
+    }
+
+    public Mono<ParkingSpotView> findViewByApartment(String apartment) {
+        return findOne(" where p.apartment = :value", apartment);
+    }
+
+    public Mono<ParkingSpotView> findViewByOwner(String owner) {
+        return findOne(" where upper(p.owner) = upper(:value)", owner);
+    }
+
+    private Mono<ParkingSpotView> findOne(String where, Object value) {
+        return databaseClient.sql(SELECT_PARKING_SPOT_VIEW + where)
+                             .bind("value", value)
+                             .map(ReactiveParkingSpotRepository::toView)
+                             .one();
+    }
+
+    private static ParkingSpotView toView(Row row) {
+        return new ParkingSpotView(row.get("id", UUID.class), row.get("spot_number", String.class),
+                                   row.get("registration_date", LocalDateTime.class), row.get("owner", String.class),
+                                   row.get("apartment", String.class), row.get("block", String.class),
+                                   row.get("version", Long.class), row.get("car_id", UUID.class),
+                                   row.get("license_plate", String.class), row.get("brand", String.class),
+                                   row.get("model", String.class), row.get("color", String.class),
+                                   row.get("car_version", Long.class));
+    }
+}
@@ -1,47 +1,120 @@
 package com.example.parkingcontrol.services;
 
+import com.example.parkingcontrol.configs.CacheConfig;
+import com.example.parkingcontrol.dtos.CursorPageDTO;
+import com.example.parkingcontrol.exceptions.ConflictException;
 import com.example.parkingcontrol.models.CarModel;
+import com.example.parkingcontrol.projections.CarView;
 import com.example.parkingcontrol.repositories.CarRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import javax.transaction.Transactional;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 @Service
 public class CarService {
+    private static final String LICENSE_PLATE_IN_USE = "Conflict: License plate is already in use!";
+
     @Autowired
     CarRepository carRepository;
 
+    @PersistenceContext
+    EntityManager entityManager;
+
     public CarService(CarRepository carRepository) {
         this.carRepository = carRepository;
     }
 
     @Transactional
     public CarModel save(CarModel carModel) {
-        return carRepository.save(carModel);
+        try {
+            CarModel savedCar = carRepository.save(carModel);
+            carRepository.flush();
+
+            return savedCar;
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException(LICENSE_PLATE_IN_USE, e);
+        }
+    }
+
+    /**
+     * Saves the cars in one transaction, so a license plate taken concurrently after the caller checked it fails the
+     * whole batch with a {@link ConflictException}.
+     */
+    @Transactional
+    public List<CarModel> saveAll(List<CarModel> carModels) {
+        try {
+            List<CarModel> savedCars = carRepository.saveAll(carModels);
+            carRepository.flush();
+
+            return savedCars;
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException(LICENSE_PLATE_IN_USE, e);
+        }
     }
 
     public boolean existsByLicensePlate(String licensePlate) {
         return carRepository.existsByLicensePlate(licensePlate);
     }
 
+    public Set<String> findExistingLicensePlates(Collection<String> licensePlates) {
+        return carRepository.findExistingLicensePlates(licensePlates);
+    }
+
     public List<CarModel> findAll() {
         return carRepository.findAll();
     }
 
-    public Optional<CarModel> findByLicensePlate(String licensePlate) {
-        return carRepository.findByLicensePlate(licensePlate);
+    public CursorPageDTO<CarView> findPage(String next, int limit) {
+        PageRequest pageRequest = PageRequest.of(0, limit);
+        Slice<CarView> slice = next == null
+                               ? carRepository.findViewPage(pageRequest)
+                               : carRepository.findViewPageAfter(decodeCursor(next), pageRequest);
+
+        List<CarView> content = slice.getContent();
+        if (!slice.hasNext()) {
+            return new CursorPageDTO<>(content, null);
+        }
+
+        return new CursorPageDTO<>(content, CursorCodec.encode(content.get(content.size() - 1).getId()));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.CARS_BY_LICENSE_PLATE)
+    public Optional<CarView> findByLicensePlate(String licensePlate) {
+        return carRepository.findViewByLicensePlate(licensePlate);
+    }
+
+    @Transactional
+    public void exportAll(Consumer<CarModel> consumer) {
+        EntityExport.forEach(entityManager, carRepository.streamAll(), consumer);
     }
 
     public Optional<CarModel> findById(UUID id) {
         return carRepository.findById(id);
     }
 
+    public Optional<CarView> findViewById(UUID id) {
+        return Optional.ofNullable(entityManager.find(CarModel.class, id)).map(CarView::of);
+    }
+
     @Transactional
     public void delete(UUID id) {
         carRepository.deleteById(id);
     }
+
+    private static UUID decodeCursor(String next) {
+        return UUID.fromString(CursorCodec.decode(next, 1)[0]);
+    }
 }
@@ -0,0 +1,111 @@
+package com.example.parkingcontrol.services;
+
+import com.example.parkingcontrol.events.CarChangedEvent;
+import com.example.parkingcontrol.events.ParkingSpotChangedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Counts the committed changes to cars and parking spots, to tag the list and search reads. Every read embeds both
+ * sides of the car to parking spot relation, so one counter covers them all: while it stands still, a repeated read
+ * would return the same body.
+ * <p>
+ * The count is kept in the {@code change_counter} table, so a write through any instance changes the tag on all of
+ * them. It is bumped once per transaction, inside the writing transaction, so the data and its tag commit together:
+ * if the bump fails, the write is rolled back with it. Writers queue on the counter row until they commit.
+ */
+@Component
+public class ChangeCounter {
+    public static final String SELECT = "select changes from change_counter where id = 1";
+
+    static final String INCREMENT = "update change_counter set changes = changes + 1 where id = 1";
+
+    static final String INSERT = "insert into change_counter (id, changes) values (1, 0)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    public ChangeCounter(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * The strong entity tag of the current state. Read it before querying, so a change that commits meanwhile makes
+     * the tag older than the body rather than newer.
+     */
+    public String etag() {
+        return etag(changes());
+    }
+
+    /**
+     * The number of committed changes so far.
+     */
+    public long changes() {
+        List<Long> changes = jdbcTemplate.queryForList(SELECT, Long.class);
+
+        return changes.isEmpty() ? 0 : changes.get(0);
+    }
+
+    public static String etag(long changes) {
+        return "\"changes-" + changes + "\"";
+    }
+
+    @EventListener
+    public void onCarChanged(CarChangedEvent event) {
+        changed();
+    }
+
+    @EventListener
+    public void onParkingSpotChanged(ParkingSpotChangedEvent event) {
+        changed();
+    }
+
+    private void changed() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            increment();
+            return;
+        }
+
+        // The first change of a transaction bumps the count, the others share it
+        if (TransactionSynchronizationManager.hasResource(this)) {
+            return;
+        }
+        increment();
+        TransactionSynchronizationManager.bindResource(this, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(ChangeCounter.this);
+            }
+        });
+    }
+
+    // Runs in the caller's transaction, and a failure propagates so the write is rolled back
+    private void increment() {
+        if (jdbcTemplate.update(INCREMENT) == 0) {
+            createRow();
+            jdbcTemplate.update(INCREMENT);
+        }
+    }
+
+    // Another instance may create the row first. A failed insert spoils its transaction, so it gets its own
+    private void createRow() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(INSERT));
+        } catch (DuplicateKeyException e) {
+            // Already there
+        }
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.parkingcontrol.services;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Encodes the sort key of the last row of a page into the opaque {@code next} token handed to clients.
+ */
+final class CursorCodec {
+    private static final String SEPARATOR = "|";
+
+    private CursorCodec() {
+    }
+
+    static String encode(Object... keys) {
+        StringBuilder cursor = new StringBuilder();
+        for (Object key : keys) {
+            if (cursor.length() > 0) {
+                cursor.append(SEPARATOR);
+            }
+            cursor.append(key);
+        }
+
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(cursor.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String[] decode(String token, int expectedKeys) {
+        String cursor;
+        try {
+            cursor = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Malformed cursor: " + token, e);
+        }
+
+        String[] keys = cursor.split("\\" + SEPARATOR, -1);
+        if (keys.length != expectedKeys) {
+            throw new IllegalArgumentException("Malformed cursor: " + token);
+        }
+
+        return keys;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.parkingcontrol.services;
+
+import javax.persistence.CacheRetrieveMode;
+import javax.persistence.CacheStoreMode;
+import javax.persistence.EntityManager;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+import static org.hibernate.cfg.AvailableSettings.JPA_SHARED_CACHE_RETRIEVE_MODE;
+import static org.hibernate.cfg.AvailableSettings.JPA_SHARED_CACHE_STORE_MODE;
+
+/**
+ * Hands streamed entities to a consumer one at a time, detaching each once consumed so the persistence context stays
+ * small. An export reads every row once, so it bypasses the second-level cache rather than push the entries that are
+ * read often out of it.
+ */
+final class EntityExport {
+    private EntityExport() {
+    }
+
+    static <T> void forEach(EntityManager entityManager, Stream<T> entities, Consumer<T> consumer) {
+        entityManager.setProperty(JPA_SHARED_CACHE_STORE_MODE, CacheStoreMode.BYPASS);
+        entityManager.setProperty(JPA_SHARED_CACHE_RETRIEVE_MODE, CacheRetrieveMode.BYPASS);
+        try (entities) {
+            entities.forEach(entity -> {
+                consumer.accept(entity);
+                entityManager.clear();
+            });
+        } finally {
+            entityManager.setProperty(JPA_SHARED_CACHE_STORE_MODE, CacheStoreMode.USE);
+            entityManager.setProperty(JPA_SHARED_CACHE_RETRIEVE_MODE, CacheRetrieveMode.USE);
+        }
+    }
+}
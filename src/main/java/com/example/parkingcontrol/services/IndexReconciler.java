@@ -0,0 +1,90 @@
+package com.example.parkingcontrol.services;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Periodically reconciles the {@link OccupancyIndex} and the {@link OwnerIndex} with the database. The indexes follow
+ * the writes of this instance only, so writes through other instances, or straight to the database, would otherwise
+ * never reach them. A pass only reads the parking spots when the {@link ChangeCounter} has moved since the last one,
+ * so an idle application costs one small query per interval.
+ */
+@Component
+public class IndexReconciler implements SmartLifecycle {
+    private static final Logger LOGGER = LoggerFactory.getLogger(IndexReconciler.class);
+
+    private final ChangeCounter changeCounter;
+
+    private final OccupancyIndex occupancyIndex;
+
+    private final OwnerIndex ownerIndex;
+
+    private final Duration interval;
+
+    // The first pass always runs, for the changes made between the initial load and the start
+    private long reconciledChanges = -1;
+
+    private ScheduledExecutorService executor;
+
+    public IndexReconciler(ChangeCounter changeCounter, OccupancyIndex occupancyIndex, OwnerIndex ownerIndex,
+                           @Value("${parking-control.indexes.reconcile-interval:30s}") Duration interval) {
+        this.changeCounter = changeCounter;
+        this.occupancyIndex = occupancyIndex;
+        this.ownerIndex = ownerIndex;
+        this.interval = interval;
+    }
+
+    /**
+     * Reconciles both indexes if anything changed since the last pass. The count is read first, so a change made
+     * during the pass is caught by the next one.
+     */
+    public synchronized void reconcileIfChanged() {
+        long changes = changeCounter.changes();
+        if (changes == reconciledChanges) {
+            return;
+        }
+
+        occupancyIndex.reconcile();
+        ownerIndex.reconcile();
+        reconciledChanges = changes;
+    }
+
+    @Override
+    public synchronized void start() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "index-reconciler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        executor.scheduleWithFixedDelay(this::run, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public synchronized void stop() {
+        executor.shutdownNow();
+        executor = null;
+    }
+
+    @Override
+    public synchronized boolean isRunning() {
+        return executor != null;
+    }
+
+    // A failed pass must not cancel the schedule, the next one tries again
+    private void run() {
+        try {
+            reconcileIfChanged();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Could not reconcile the in-memory indexes with the database", e);
+        }
+    }
+}
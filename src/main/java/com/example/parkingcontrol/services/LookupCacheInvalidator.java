@@ -0,0 +1,48 @@
+package com.example.parkingcontrol.services;
+
+import com.example.parkingcontrol.configs.CacheConfig;
+import com.example.parkingcontrol.events.CarChangedEvent;
+import com.example.parkingcontrol.events.ParkingSpotChangedEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Evicts the cached lookups of a changed car or parking spot once the write has committed. Cached cars carry their
+ * parking spot and vice versa, so a change on either side also evicts the entry of the other one, by the key the
+ * event carries. A car never moves to another spot, so its current spot is the only one that can hold it.
+ */
+@Component
+public class LookupCacheInvalidator {
+    private final CacheManager cacheManager;
+
+    public LookupCacheInvalidator(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCarChanged(CarChangedEvent event) {
+        evict(CacheConfig.CARS_BY_LICENSE_PLATE, event.getLicensePlate(), event.getPreviousLicensePlate());
+        evict(CacheConfig.PARKING_SPOTS_BY_SPOT_NUMBER, event.getSpotNumber());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onParkingSpotChanged(ParkingSpotChangedEvent event) {
+        evict(CacheConfig.PARKING_SPOTS_BY_SPOT_NUMBER, event.getSpotNumber(), event.getPreviousSpotNumber());
+        evict(CacheConfig.CARS_BY_LICENSE_PLATE, event.getCarLicensePlate());
+    }
+
+    private void evict(String cacheName, String... keys) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache == null) {
+            return;
+        }
+
+        for (String key : keys) {
+            if (key != null) {
+                cache.evict(key);
+            }
+        }
+    }
+}
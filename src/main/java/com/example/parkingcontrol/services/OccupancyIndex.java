@@ -0,0 +1,401 @@
+package com.example.parkingcontrol.services;
+
+import com.example.parkingcontrol.dtos.BlockOccupancyDTO;
+import com.example.parkingcontrol.dtos.OccupancyDTO;
+import com.example.parkingcontrol.events.CarChangedEvent;
+import com.example.parkingcontrol.events.ChangeType;
+import com.example.parkingcontrol.events.OccupancyChangedEvent;
+import com.example.parkingcontrol.events.ParkingSpotChangedEvent;
+import com.example.parkingcontrol.projections.ParkingSpotView;
+import com.example.parkingcontrol.repositories.ParkingSpotRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory view of which parking spots hold a car, kept as one pair of bitsets per block. It is loaded once before
+ * the server starts and then follows committed writes through the change events, so occupancy queries never reach
+ * the database. Writes it cannot see, through another instance or straight to the database, are caught up by
+ * {@link #reconcile()}.
+ * <p>
+ * Writes are applied one at a time; each block has its own lock, so readers only wait for a write to their block.
+ * Every change to a spot or its occupancy is published as an {@link OccupancyChangedEvent}, in the order applied.
+ * <p>
+ * Free spots can also be claimed for allocation. A claim only takes the lock of its block, so allocations in
+ * different blocks never wait for each other. A claimed spot is handed to no one else until the committed assignment
+ * occupies it or the claim is released; it still counts as free in the snapshots.
+ */
+@Component
+public class OccupancyIndex implements SmartInitializingSingleton {
+    private final ParkingSpotRepository parkingSpotRepository;
+
+    private final ApplicationEventPublisher eventPublisher;
+
+    private final NavigableMap<String, Block> blocks = new ConcurrentSkipListMap<>();
+
+    // Only touched by the synchronized write methods
+    private final Map<UUID, Slot> slots = new HashMap<>();
+
+    private final Map<UUID, UUID> parkingSpotByCar = new HashMap<>();
+
+    private boolean rebuilding;
+
+    public OccupancyIndex(ParkingSpotRepository parkingSpotRepository, ApplicationEventPublisher eventPublisher) {
+        this.parkingSpotRepository = parkingSpotRepository;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        blocks.clear();
+        slots.clear();
+        parkingSpotByCar.clear();
+
+        rebuilding = true;
+        try {
+            for (ParkingSpotView parkingSpot : parkingSpotRepository.findAllViews()) {
+                UUID carId = parkingSpot.getCar() != null ? parkingSpot.getCar().getId() : null;
+                put(parkingSpot.getId(), parkingSpot.getSpotNumber(), parkingSpot.getBlock(), carId);
+            }
+        } finally {
+            rebuilding = false;
+        }
+    }
+
+    /**
+     * Brings the index in line with the database, for the changes it did not see, such as writes through another
+     * instance. Unlike a rebuild it keeps the claims and applies only the differences, publishing them like any
+     * other change. The database is read under the write lock, so no change applied meanwhile is undone.
+     */
+    public synchronized void reconcile() {
+        Set<UUID> removed = new HashSet<>(slots.keySet());
+        Map<UUID, UUID> parkingSpotsByCar = new HashMap<>();
+        for (ParkingSpotView parkingSpot : parkingSpotRepository.findAllViews()) {
+            UUID carId = parkingSpot.getCar() != null ? parkingSpot.getCar().getId() : null;
+            removed.remove(parkingSpot.getId());
+            put(parkingSpot.getId(), parkingSpot.getSpotNumber(), parkingSpot.getBlock(), carId);
+            if (carId != null) {
+                parkingSpotsByCar.put(carId, parkingSpot.getId());
+            }
+        }
+
+        for (UUID id : removed) {
+            remove(id);
+        }
+        parkingSpotByCar.clear();
+        parkingSpotByCar.putAll(parkingSpotsByCar);
+    }
+
+    public OccupancyDTO snapshot() {
+        List<BlockOccupancyDTO> result = new ArrayList<>();
+        for (Block block : blocks.values()) {
+            result.add(block.snapshot());
+        }
+
+        return new OccupancyDTO(result);
+    }
+
+    public Optional<BlockOccupancyDTO> snapshot(String block) {
+        return Optional.ofNullable(blocks.get(block)).map(Block::snapshot);
+    }
+
+    public boolean hasBlock(String block) {
+        return blocks.containsKey(block);
+    }
+
+    /**
+     * Claims a free, unclaimed spot of the block and returns its id, or empty when there is none left.
+     */
+    public Optional<UUID> claimFreeSpot(String block) {
+        Block found = blocks.get(block);
+
+        return found != null ? Optional.ofNullable(found.claim()) : Optional.empty();
+    }
+
+    /**
+     * Marks a claimed spot occupied, for when its assignment failed because the database already has a car in it. It
+     * is not offered again until a committed change, or a rebuild, says it is free.
+     */
+    public synchronized void markOccupied(UUID parkingSpotId) {
+        Slot slot = slots.get(parkingSpotId);
+        if (slot != null && slot.block.setOccupied(slot.bit, true)) {
+            publish(OccupancyChangedEvent.Type.CAR_ASSIGNED, parkingSpotId, slot);
+        }
+    }
+
+    /**
+     * Hands a claimed spot back, for when its assignment could not be written for any other reason.
+     */
+    public void releaseClaim(String block, UUID parkingSpotId) {
+        Block found = blocks.get(block);
+        if (found != null) {
+            found.release(parkingSpotId);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onParkingSpotChanged(ParkingSpotChangedEvent event) {
+        if (event.getType() == ChangeType.DELETED) {
+            remove(event.getId());
+        } else {
+            put(event.getId(), event.getSpotNumber(), event.getBlock(), event.getCarId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onCarChanged(CarChangedEvent event) {
+        UUID previous = parkingSpotByCar.remove(event.getId());
+        if (previous != null && !previous.equals(event.getParkingSpotId())) {
+            vacate(previous, event.getId());
+        }
+
+        if (event.getType() == ChangeType.DELETED || event.getParkingSpotId() == null) {
+            vacate(event.getParkingSpotId(), event.getId());
+        } else {
+            occupy(event.getParkingSpotId(), event.getId());
+        }
+    }
+
+    private void put(UUID id, String spotNumber, String blockName, UUID carId) {
+        Slot slot = slots.get(id);
+        if (slot == null || !slot.block.name.equals(blockName) || !slot.spotNumber.equals(spotNumber)) {
+            remove(id);
+            Block block = blocks.computeIfAbsent(blockName, Block::new);
+            slot = new Slot(block, block.add(id, spotNumber), spotNumber);
+            slots.put(id, slot);
+            publish(OccupancyChangedEvent.Type.SPOT_CREATED, id, slot);
+        }
+
+        if (carId != null) {
+            occupy(id, carId);
+        } else {
+            vacate(id, slot.carId);
+        }
+    }
+
+    private void remove(UUID id) {
+        Slot slot = slots.remove(id);
+        if (slot == null) {
+            return;
+        }
+
+        if (slot.carId != null) {
+            parkingSpotByCar.remove(slot.carId, id);
+        }
+        slot.block.remove(slot.bit);
+        if (slot.block.isEmpty()) {
+            blocks.remove(slot.block.name, slot.block);
+        }
+        publish(OccupancyChangedEvent.Type.SPOT_DELETED, id, slot);
+    }
+
+    private void occupy(UUID parkingSpotId, UUID carId) {
+        parkingSpotByCar.put(carId, parkingSpotId);
+
+        Slot slot = slots.get(parkingSpotId);
+        if (slot != null) {
+            slot.carId = carId;
+            if (slot.block.setOccupied(slot.bit, true)) {
+                publish(OccupancyChangedEvent.Type.CAR_ASSIGNED, parkingSpotId, slot);
+            }
+        }
+    }
+
+    // A spot marked occupied has no known car, so any car leaving it frees it
+    private void vacate(UUID parkingSpotId, UUID carId) {
+        Slot slot = parkingSpotId != null ? slots.get(parkingSpotId) : null;
+        if (slot != null && (slot.carId == null || Objects.equals(slot.carId, carId))) {
+            slot.carId = null;
+            if (slot.block.setOccupied(slot.bit, false)) {
+                publish(OccupancyChangedEvent.Type.CAR_REMOVED, parkingSpotId, slot);
+            }
+        }
+    }
+
+    private void publish(OccupancyChangedEvent.Type type, UUID parkingSpotId, Slot slot) {
+        if (!rebuilding) {
+            eventPublisher.publishEvent(new OccupancyChangedEvent(type, parkingSpotId, slot.spotNumber,
+                                                                  slot.block.name));
+        }
+    }
+
+    private static final class Slot {
+        private final Block block;
+
+        private final int bit;
+
+        private final String spotNumber;
+
+        private UUID carId;
+
+        private Slot(Block block, int bit, String spotNumber) {
+            this.block = block;
+            this.bit = bit;
+            this.spotNumber = spotNumber;
+        }
+    }
+
+    /**
+     * Spots of one block by bit index. Freed indexes are reused by the next spot added to the block. The claimable
+     * bitset holds the spots that are neither occupied nor claimed.
+     */
+    private static final class Block {
+        private final String name;
+
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+        private final List<UUID> ids = new ArrayList<>();
+
+        private final Map<UUID, Integer> bits = new HashMap<>();
+
+        private final List<String> spotNumbers = new ArrayList<>();
+
+        private final BitSet present = new BitSet();
+
+        private final BitSet occupied = new BitSet();
+
+        private final BitSet claimed = new BitSet();
+
+        private final BitSet claimable = new BitSet();
+
+        private int total;
+
+        private int occupiedCount;
+
+        private Block(String name) {
+            this.name = name;
+        }
+
+        private int add(UUID id, String spotNumber) {
+            lock.writeLock().lock();
+            try {
+                int bit = present.nextClearBit(0);
+                if (bit == spotNumbers.size()) {
+                    ids.add(id);
+                    spotNumbers.add(spotNumber);
+                } else {
+                    ids.set(bit, id);
+                    spotNumbers.set(bit, spotNumber);
+                }
+                bits.put(id, bit);
+                present.set(bit);
+                claimable.set(bit);
+                total++;
+
+                return bit;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void remove(int bit) {
+            lock.writeLock().lock();
+            try {
+                setOccupiedLocked(bit, false);
+                bits.remove(ids.set(bit, null));
+                spotNumbers.set(bit, null);
+                present.clear(bit);
+                claimed.clear(bit);
+                claimable.clear(bit);
+                total--;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private boolean isEmpty() {
+            lock.readLock().lock();
+            try {
+                return total == 0;
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+
+        private boolean setOccupied(int bit, boolean value) {
+            lock.writeLock().lock();
+            try {
+                return setOccupiedLocked(bit, value);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private boolean setOccupiedLocked(int bit, boolean value) {
+            if (occupied.get(bit) == value) {
+                return false;
+            }
+            occupied.set(bit, value);
+            occupiedCount += value ? 1 : -1;
+            claimed.clear(bit);
+            claimable.set(bit, !value);
+
+            return true;
+        }
+
+        private UUID claim() {
+            lock.writeLock().lock();
+            try {
+                int bit = claimable.nextSetBit(0);
+                if (bit < 0) {
+                    return null;
+                }
+                claimable.clear(bit);
+                claimed.set(bit);
+
+                return ids.get(bit);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private void release(UUID id) {
+            lock.writeLock().lock();
+            try {
+                Integer bit = bits.get(id);
+                if (bit != null && claimed.get(bit)) {
+                    claimed.clear(bit);
+                    claimable.set(bit, !occupied.get(bit));
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+
+        private BlockOccupancyDTO snapshot() {
+            lock.readLock().lock();
+            try {
+                List<String> freeSpots = new ArrayList<>(total - occupiedCount);
+                for (int bit = present.nextSetBit(0); bit >= 0; bit = present.nextSetBit(bit + 1)) {
+                    if (!occupied.get(bit)) {
+                        freeSpots.add(spotNumbers.get(bit));
+                    }
+                }
+
+                return new BlockOccupancyDTO(name, total, occupiedCount, freeSpots);
+            } finally {
+                lock.readLock().unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.parkingcontrol.services;
+
+import com.example.parkingcontrol.events.OccupancyChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes occupancy changes to Server-Sent Events subscribers. Each subscriber starts with a {@code snapshot} event
+ * and then receives one event per change, named after its type.
+ * <p>
+ * Every subscriber has a bounded queue drained by its own virtual thread, so a slow client never holds up the
+ * writes that produce the changes. When its queue overflows, the pending changes are dropped and replaced by a fresh
+ * snapshot. Changes are absolute, so applying one that the snapshot already contains does no harm.
+ */
+@Component
+public class OccupancyStream {
+    private static final Object RESYNC = new Object();
+
+    private final OccupancyIndex occupancyIndex;
+
+    private final int bufferSize;
+
+    private final Duration heartbeat;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    private final Counter resyncs = Metrics.counter("parking-control.occupancy-stream.resyncs");
+
+    public OccupancyStream(OccupancyIndex occupancyIndex,
+                           @Value("${parking-control.occupancy-stream.buffer-size:256}") int bufferSize,
+                           @Value("${parking-control.occupancy-stream.heartbeat:30s}") Duration heartbeat) {
+        this.occupancyIndex = occupancyIndex;
+        this.bufferSize = bufferSize;
+        this.heartbeat = heartbeat;
+    }
+
+    public SseEmitter subscribe() {
+        SseEmitter emitter = new SseEmitter(0L);
+        Subscriber subscriber = new Subscriber(emitter, new ArrayBlockingQueue<>(bufferSize));
+        subscribers.add(subscriber);
+
+        Thread thread = Thread.ofVirtual().name("occupancy-stream").unstarted(subscriber);
+        emitter.onCompletion(thread::interrupt);
+        emitter.onError(e -> thread.interrupt());
+        thread.start();
+
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    // Runs inside the index's synchronized write path, so it must not block
+    @EventListener
+    public void onOccupancyChanged(OccupancyChangedEvent event) {
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.queue.offer(event)) {
+                subscriber.queue.clear();
+                subscriber.queue.offer(RESYNC);
+                resyncs.increment();
+            }
+        }
+    }
+
+    private final class Subscriber implements Runnable {
+        private final SseEmitter emitter;
+
+        private final BlockingQueue<Object> queue;
+
+        private Subscriber(SseEmitter emitter, BlockingQueue<Object> queue) {
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        @Override
+        public void run() {
+            try {
+                sendSnapshot();
+                while (!Thread.currentThread().isInterrupted()) {
+                    Object item = queue.poll(heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+                    if (item == null) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else if (item == RESYNC) {
+                        sendSnapshot();
+                    } else {
+                        OccupancyChangedEvent event = (OccupancyChangedEvent) item;
+                        emitter.send(SseEmitter.event().name(event.getType().name()).data(event));
+                    }
+                }
+            } catch (IOException | IllegalStateException e) {
+                // The client went away, or the emitter was completed
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                subscribers.remove(this);
+                emitter.complete();
+            }
+        }
+
+        private void sendSnapshot() throws IOException {
+            emitter.send(SseEmitter.event().name("snapshot").data(occupancyIndex.snapshot()));
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.parkingcontrol.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Re-runs a read-modify-write whose update lost the race against a concurrent one. Each attempt must read the
+ * entity again, in its own transaction, so it applies its change on top of the newer version.
+ * <p>
+ * Attempts are bounded and spaced by a short random pause, so writers contending for the same row spread out instead
+ * of colliding again.
+ */
+@Component
+public class OptimisticRetry {
+    private static final long MAX_BACKOFF_MICROS = 2000;
+
+    private final int maxAttempts;
+
+    private final Counter retries = Metrics.counter("parking-control.optimistic-retries");
+
+    public OptimisticRetry(@Value("${parking-control.optimistic-retry.max-attempts:3}") int maxAttempts) {
+        this.maxAttempts = maxAttempts;
+    }
+
+    public <T> T execute(Supplier<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                retries.increment();
+                pause(attempt);
+            }
+        }
+    }
+
+    private static void pause(int attempt) {
+        try {
+            TimeUnit.MICROSECONDS.sleep(ThreadLocalRandom.current().nextLong(MAX_BACKOFF_MICROS * attempt));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
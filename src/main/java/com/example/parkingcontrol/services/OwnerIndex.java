@@ -0,0 +1,134 @@
+package com.example.parkingcontrol.services;
+
+import com.example.parkingcontrol.events.ChangeType;
+import com.example.parkingcontrol.events.ParkingSpotChangedEvent;
+import com.example.parkingcontrol.projections.CarView.ParkingSpotSummary;
+import com.example.parkingcontrol.projections.ParkingSpotView;
+import com.example.parkingcontrol.repositories.ParkingSpotRepository;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Case-insensitive owner search over every parking spot, held in memory as a sorted map from the lower-cased owner to
+ * the spot. A prefix query is a range scan of that map, so its cost grows with the matches returned
+ * and only logarithmically with the number of spots. Like
+ * {@link OccupancyIndex}, it is loaded before the server starts, then follows committed writes and is reconciled
+ * with the database for the writes it did not see.
+ */
+@Component
+public class OwnerIndex implements SmartInitializingSingleton {
+    // Separates the owner from the id in a key, sorting below every character an owner can contain
+    private static final char SEPARATOR = '\u0000';
+
+    private final ParkingSpotRepository parkingSpotRepository;
+
+    private final NavigableMap<String, ParkingSpotSummary> parkingSpots = new ConcurrentSkipListMap<>();
+
+    // Only touched by the synchronized write methods
+    private final Map<UUID, String> keys = new HashMap<>();
+
+    public OwnerIndex(ParkingSpotRepository parkingSpotRepository) {
+        this.parkingSpotRepository = parkingSpotRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        parkingSpots.clear();
+        keys.clear();
+
+        for (ParkingSpotView parkingSpot : parkingSpotRepository.findAllViews()) {
+            put(new ParkingSpotSummary(parkingSpot.getId(), parkingSpot.getSpotNumber(),
+                                       parkingSpot.getRegistrationDate(), parkingSpot.getOwner(),
+                                       parkingSpot.getApartment(), parkingSpot.getBlock()));
+        }
+    }
+
+    /**
+     * Brings the index in line with the database without clearing it first, so searches meanwhile still find every
+     * spot that did not change.
+     */
+    public synchronized void reconcile() {
+        Set<UUID> removed = new HashSet<>(keys.keySet());
+        for (ParkingSpotView parkingSpot : parkingSpotRepository.findAllViews()) {
+            removed.remove(parkingSpot.getId());
+            put(new ParkingSpotSummary(parkingSpot.getId(), parkingSpot.getSpotNumber(),
+                                       parkingSpot.getRegistrationDate(), parkingSpot.getOwner(),
+                                       parkingSpot.getApartment(), parkingSpot.getBlock()));
+        }
+
+        for (UUID id : removed) {
+            remove(id);
+        }
+    }
+
+    public List<ParkingSpotSummary> findByOwner(String owner, int limit) {
+        String from = normalize(owner) + SEPARATOR;
+
+        return first(parkingSpots.subMap(from, true, from + Character.MAX_VALUE, true), limit);
+    }
+
+    public List<ParkingSpotSummary> findByOwnerPrefix(String prefix, int limit) {
+        String from = normalize(prefix);
+
+        return first(parkingSpots.subMap(from, true, from + Character.MAX_VALUE, true), limit);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onParkingSpotChanged(ParkingSpotChangedEvent event) {
+        if (event.getType() == ChangeType.DELETED) {
+            remove(event.getId());
+        } else {
+            put(new ParkingSpotSummary(event.getId(), event.getSpotNumber(), event.getRegistrationDate(),
+                                       event.getOwner(), event.getApartment(), event.getBlock()));
+        }
+    }
+
+    // The new entry goes in before the old one goes, so a search never misses the spot
+    private void put(ParkingSpotSummary parkingSpot) {
+        String key = normalize(parkingSpot.getOwner()) + SEPARATOR + parkingSpot.getId();
+        String previous = keys.put(parkingSpot.getId(), key);
+        parkingSpots.put(key, parkingSpot);
+        if (previous != null && !previous.equals(key)) {
+            parkingSpots.remove(previous);
+        }
+    }
+
+    private void remove(UUID id) {
+        String previous = keys.remove(id);
+        if (previous != null) {
+            parkingSpots.remove(previous);
+        }
+    }
+
+    private static List<ParkingSpotSummary> first(NavigableMap<String, ParkingSpotSummary> range, int limit) {
+        List<ParkingSpotSummary> result = new ArrayList<>(Math.min(limit, 16));
+        for (ParkingSpotSummary parkingSpot : range.values()) {
+            if (result.size() == limit) {
+                break;
+            }
+            result.add(parkingSpot);
+        }
+
+        return result;
+    }
+
+    private static String normalize(String owner) {
+        return owner.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,193 @@
+package com.example.parkingcontrol.services;
+
+import com.example.parkingcontrol.models.ParkingSessionEventModel;
+import com.example.parkingcontrol.models.TimeOrderedUuidGenerator;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind queue for gate events. Requests only enqueue; a single writer thread takes whatever has piled up, up
+ * to one batch, and inserts it with one JDBC batch in one transaction. Under a burst the batches fill up, so
+ * thousands of events per second become a few round trips, while a lone event is still written right away.
+ * <p>
+ * The queue is bounded: a batch that does not fit is refused as a whole, and the caller should retry later. A batch
+ * that cannot be written is kept and retried with a growing backoff, so events already accepted are not lost while
+ * the database is away; meanwhile the queue fills up and intake is refused. Events still queued on shutdown are
+ * written before the database connections close, and only a batch that still fails then is dropped.
+ */
+@Component
+public class ParkingSessionLedger implements SmartLifecycle {
+    static final String INSERT = "insert into parking_session_event"
+                                 + " (id, license_plate, spot_number, gate, type, occurred_at, recorded_at)"
+                                 + " values (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParkingSessionLedger.class);
+
+    private static final long POLL_TIMEOUT_MILLIS = 100;
+
+    private static final long INITIAL_BACKOFF_MILLIS = 100;
+
+    private static final long MAX_BACKOFF_MILLIS = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final BlockingQueue<ParkingSessionEventModel> queue;
+
+    private final int batchSize;
+
+    private final Counter written = Metrics.counter("parking-control.sessions.written");
+
+    private final Counter failed = Metrics.counter("parking-control.sessions.failed");
+
+    private final Counter dropped = Metrics.counter("parking-control.sessions.dropped");
+
+    private volatile boolean running;
+
+    private Thread writer;
+
+    public ParkingSessionLedger(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                @Value("${parking-control.sessions.queue-capacity:10000}") int queueCapacity,
+                                @Value("${parking-control.sessions.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        Metrics.gauge("parking-control.sessions.queued", queue, BlockingQueue::size);
+    }
+
+    /**
+     * Assigns ids to the events and queues all of them, or none when they do not fit.
+     */
+    public synchronized boolean offer(List<ParkingSessionEventModel> events) {
+        if (!running || queue.remainingCapacity() < events.size()) {
+            return false;
+        }
+
+        LocalDateTime recordedAt = LocalDateTime.now(ZoneId.of("UTC"));
+        for (ParkingSessionEventModel event : events) {
+            event.setId(TimeOrderedUuidGenerator.next());
+            event.setRecordedAt(recordedAt);
+            queue.add(event);
+        }
+
+        return true;
+    }
+
+    @Override
+    public synchronized void start() {
+        running = true;
+        writer = new Thread(this::drain, "parking-session-ledger");
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread current;
+        synchronized (this) {
+            running = false;
+            current = writer;
+            writer = null;
+        }
+
+        try {
+            current.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Stops after the web server, so no request is refused while it drains
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    private void drain() {
+        List<ParkingSessionEventModel> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                ParkingSessionEventModel first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<ParkingSessionEventModel> batch) throws InterruptedException {
+        long backoff = INITIAL_BACKOFF_MILLIS;
+        while (true) {
+            try {
+                insert(batch);
+                written.increment(batch.size());
+                return;
+            } catch (RuntimeException e) {
+                failed.increment(batch.size());
+                if (!running) {
+                    dropped.increment(batch.size());
+                    LOGGER.error("Dropped {} parking session events that could not be written on shutdown",
+                                 batch.size(), e);
+                    return;
+                }
+
+                LOGGER.warn("Could not write {} parking session events, retrying in {} ms", batch.size(), backoff, e);
+                pause(backoff);
+                backoff = Math.min(backoff * 2, MAX_BACKOFF_MILLIS);
+            }
+        }
+    }
+
+    // Sleeps in short steps, so a shutdown does not wait for the whole backoff
+    private void pause(long millis) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        long remaining;
+        while (running && (remaining = deadline - System.nanoTime()) > 0) {
+            TimeUnit.NANOSECONDS.sleep(Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(POLL_TIMEOUT_MILLIS)));
+        }
+    }
+
+    private void insert(List<ParkingSessionEventModel> batch) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                INSERT, batch, batch.size(), (statement, event) -> {
+                    statement.setObject(1, event.getId());
+                    statement.setString(2, event.getLicensePlate());
+                    statement.setString(3, event.getSpotNumber());
+                    statement.setString(4, event.getGate());
+                    statement.setString(5, event.getType().name());
+                    statement.setTimestamp(6, Timestamp.valueOf(event.getOccurredAt()));
+                    statement.setTimestamp(7, Timestamp.valueOf(event.getRecordedAt()));
+                }));
+    }
+}
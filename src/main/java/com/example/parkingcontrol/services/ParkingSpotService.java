@@ -1,20 +1,60 @@
 package com.example.parkingcontrol.services;
 
+import com.example.parkingcontrol.configs.CacheConfig;
+import com.example.parkingcontrol.dtos.CursorPageDTO;
+import com.example.parkingcontrol.exceptions.ConflictException;
+import com.example.parkingcontrol.exceptions.ParkingSpotTakenException;
+import com.example.parkingcontrol.models.CarModel;
 import com.example.parkingcontrol.models.ParkingSpotModel;
+import com.example.parkingcontrol.projections.ParkingSpotView;
 import com.example.parkingcontrol.repositories.ParkingSpotRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
 import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 @Service
 public class ParkingSpotService {
+    private static final String SPOT_IN_USE = "Conflict: Parking Spot is already in use!";
+
+    private static final String CONFLICT = "Conflict: Parking Spot conflicts with existing data!";
+
+    private static final Map<String, String> CONFLICTS = Map.of(
+            ParkingSpotModel.SPOT_NUMBER_CONSTRAINT, SPOT_IN_USE,
+            ParkingSpotModel.LEGACY_SPOT_NUMBER_CONSTRAINT, SPOT_IN_USE,
+            ParkingSpotModel.APARTMENT_AND_BLOCK_CONSTRAINT,
+            "Conflict: Parking Spot is already registered for this apartment and block!");
+
+    /**
+     * H2 reports the violated index rather than the bare constraint name, e.g.
+     * {@code PUBLIC.UK_PARKING_SPOT_SPOT_NUMBER_INDEX_8 ON PUBLIC.PARKING_SPOT(...)}.
+     */
+    private static final Pattern H2_CONSTRAINT_NAME = Pattern.compile("^(?:\\w+\\.)?(\\w+?)(?:_index_\\d+)?(?:\\s.*)?$",
+                                                                      Pattern.DOTALL);
+
     @Autowired
     ParkingSpotRepository parkingSpotRepository;
 
+    @PersistenceContext
+    EntityManager entityManager;
+
     public ParkingSpotService() {
 
     }
@@ -25,39 +65,122 @@ public class ParkingSpotService {
 
     @Transactional
     public ParkingSpotModel save(ParkingSpotModel parkingSpot) {
-        return parkingSpotRepository.save(parkingSpot);
-    }
+        try {
+            ParkingSpotModel savedParkingSpot = parkingSpotRepository.save(parkingSpot);
+            parkingSpotRepository.flush();
 
-    public boolean existsBySpotNumber(String spotNumber) {
-        return parkingSpotRepository.existsBySpotNumber(spotNumber);
+            return savedParkingSpot;
+        } catch (DataIntegrityViolationException e) {
+            throw new ConflictException(conflictMessage(e), e);
+        }
     }
 
-    public boolean existsByApartmentAndBlock(String apartment, String block) {
-        return parkingSpotRepository.existsByApartmentAndBlock(apartment, block);
+    /**
+     * Parks the car in an existing parking spot, failing with a {@link ParkingSpotTakenException} when the spot is gone
+     * or already taken, and with a plain conflict when the car is gone or already parked.
+     */
+    @Transactional
+    public ParkingSpotModel assignCar(UUID parkingSpotId, UUID carId) {
+        Optional<ParkingSpotModel> parkingSpotModelOptional = parkingSpotRepository.findById(parkingSpotId);
+        if (!parkingSpotModelOptional.isPresent() || parkingSpotModelOptional.get().getCar() != null) {
+            throw new ParkingSpotTakenException(SPOT_IN_USE);
+        }
+
+        CarModel car = entityManager.find(CarModel.class, carId);
+        if (car == null || car.getParkingSpot() != null) {
+            throw new ConflictException("Conflict: Car is not available for parking!");
+        }
+
+        ParkingSpotModel parkingSpot = parkingSpotModelOptional.get();
+        parkingSpot.setCar(car);
+        try {
+            parkingSpotRepository.flush();
+        } catch (DataIntegrityViolationException e) {
+            throw new ParkingSpotTakenException(SPOT_IN_USE, e);
+        }
+
+        return parkingSpot;
     }
 
     public List<ParkingSpotModel> findAll() {
         return parkingSpotRepository.findAll();
     }
 
+    public CursorPageDTO<ParkingSpotView> findPage(String next, int limit) {
+        PageRequest pageRequest = PageRequest.of(0, limit);
+        Slice<ParkingSpotView> slice;
+        if (next == null) {
+            slice = parkingSpotRepository.findViewPage(pageRequest);
+        } else {
+            String[] cursor = CursorCodec.decode(next, 2);
+            slice = parkingSpotRepository.findViewPageAfter(parseRegistrationDate(cursor[0]),
+                                                            UUID.fromString(cursor[1]), pageRequest);
+        }
+
+        List<ParkingSpotView> content = slice.getContent();
+        if (!slice.hasNext()) {
+            return new CursorPageDTO<>(content, null);
+        }
+
+        ParkingSpotView last = content.get(content.size() - 1);
+        return new CursorPageDTO<>(content, CursorCodec.encode(last.getRegistrationDate(), last.getId()));
+    }
+
+    @Transactional
+    public void exportAll(Consumer<ParkingSpotModel> consumer) {
+        EntityExport.forEach(entityManager, parkingSpotRepository.streamAll(), consumer);
+    }
+
     public Optional<ParkingSpotModel> findById(UUID id) {
         return parkingSpotRepository.findById(id);
     }
 
-    public Optional<ParkingSpotModel> findBySpotNumber(String spotNumber) {
-        return parkingSpotRepository.findBySpotNumber(spotNumber);
+    public Optional<ParkingSpotView> findViewById(UUID id) {
+        return Optional.ofNullable(entityManager.find(ParkingSpotModel.class, id)).map(ParkingSpotView::of);
     }
 
-    public Optional<ParkingSpotModel> findByApartment(String apartment) {
-        return parkingSpotRepository.findByApartment(apartment);
+    @Cacheable(cacheNames = CacheConfig.PARKING_SPOTS_BY_SPOT_NUMBER)
+    public Optional<ParkingSpotView> findBySpotNumber(String spotNumber) {
+        return parkingSpotRepository.findViewBySpotNumber(spotNumber);
     }
 
-    public Optional<ParkingSpotModel> findByOwner(String owner) {
-        return parkingSpotRepository.findByOwnerIgnoreCase(owner);
+    public Optional<ParkingSpotView> findByApartment(String apartment) {
+        return parkingSpotRepository.findViewByApartment(apartment);
+    }
+
+    public Optional<ParkingSpotView> findByOwner(String owner) {
+        return parkingSpotRepository.findViewByOwner(owner);
     }
 
     @Transactional
     public void delete(UUID id) {
         parkingSpotRepository.deleteById(id);
     }
+
+    private static LocalDateTime parseRegistrationDate(String registrationDate) {
+        try {
+            return LocalDateTime.parse(registrationDate);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Malformed cursor date: " + registrationDate, e);
+        }
+    }
+
+    /**
+     * Maps the violated constraint to its conflict message by name. Violations of other constraints, such as the
+     * license plate of a car saved along with the spot, still conflict with existing data and get a generic message.
+     */
+    private static String conflictMessage(DataIntegrityViolationException e) {
+        if (!(e.getCause() instanceof ConstraintViolationException)) {
+            return CONFLICT;
+        }
+
+        String constraintName = ((ConstraintViolationException) e.getCause()).getConstraintName();
+        if (constraintName == null) {
+            return CONFLICT;
+        }
+
+        Matcher matcher = H2_CONSTRAINT_NAME.matcher(constraintName.replace("\"", "").toLowerCase(Locale.ROOT));
+
+        return CONFLICTS.getOrDefault(matcher.matches() ? matcher.group(1) : constraintName, CONFLICT);
+    }
 }
@@ -0,0 +1,63 @@
+package com.example.parkingcontrol.services;
+
+import com.example.parkingcontrol.exceptions.ParkingSpotTakenException;
+import com.example.parkingcontrol.models.ParkingSpotModel;
+import org.springframework.stereotype.Service;
+
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Parks a car in any free spot of a block. The spot is claimed in the {@link OccupancyIndex} first, so concurrent
+ * allocations are handed different spots without touching the database, and only then is the assignment written.
+ * <p>
+ * A spot the database already has a car in, such as one taken through another endpoint, is marked occupied and the
+ * next free spot is tried. Any other failure releases the claim, as the spot itself may still be free.
+ */
+@Service
+public class SpotAllocator {
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final OccupancyIndex occupancyIndex;
+
+    private final ParkingSpotService parkingSpotService;
+
+    private final OptimisticRetry optimisticRetry;
+
+    public SpotAllocator(OccupancyIndex occupancyIndex, ParkingSpotService parkingSpotService,
+                         OptimisticRetry optimisticRetry) {
+        this.occupancyIndex = occupancyIndex;
+        this.parkingSpotService = parkingSpotService;
+        this.optimisticRetry = optimisticRetry;
+    }
+
+    /**
+     * Returns the parking spot now holding the car, or empty when the block has no free spot left. Fails with the
+     * last conflict when every spot tried was taken.
+     */
+    public Optional<ParkingSpotModel> allocate(String block, UUID carId) {
+        ParkingSpotTakenException taken = null;
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            Optional<UUID> parkingSpotIdOptional = occupancyIndex.claimFreeSpot(block);
+            if (!parkingSpotIdOptional.isPresent()) {
+                if (taken != null) {
+                    throw taken;
+                }
+                return Optional.empty();
+            }
+
+            UUID parkingSpotId = parkingSpotIdOptional.get();
+            try {
+                return Optional.of(optimisticRetry.execute(() -> parkingSpotService.assignCar(parkingSpotId, carId)));
+            } catch (ParkingSpotTakenException e) {
+                occupancyIndex.markOccupied(parkingSpotId);
+                taken = e;
+            } catch (RuntimeException e) {
+                occupancyIndex.releaseClaim(block, parkingSpotId);
+                throw e;
+            }
+        }
+
+        throw taken;
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.parkingcontrol.configs;
+
+import com.example.parkingcontrol.controllers.CarController;
+import com.example.parkingcontrol.dtos.CarDTO;
+import com.example.parkingcontrol.mappers.CarMapperImpl;
+import com.example.parkingcontrol.models.CarModel;
+import com.example.parkingcontrol.projections.CarView;
+import com.example.parkingcontrol.services.CarService;
+import com.example.parkingcontrol.services.OptimisticRetry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(CarController.class)
+@Import({BinaryFormatConfig.class, DateConfig.class, CarMapperImpl.class, OptimisticRetry.class})
+@ActiveProfiles("test")
+class BinaryFormatConfigTest {
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    private static final UUID ID = UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    CarService carService;
+
+    @Test
+    void shouldWriteSmileWithTheJsonDateFormat() throws Exception {
+        // Given
+        Mockito.when(carService.findViewById(ID)).thenReturn(Optional.of(
+                new CarView(ID, "GPK-6219", "Audi", "A1", "Silver", 0,
+                            UUID.fromString("0a96e04e-b60f-4b69-9524-e221cf341ccb"), "701-A",
+                            LocalDateTime.parse("2022-09-03T10:15:30"), "Jade", "701", "A", 0L)));
+
+        // When
+        byte[] body = mockMvc.perform(get("/cars/{id}", ID).accept(SMILE))
+                             .andExpect(status().isOk())
+                             .andExpect(content().contentType(SMILE))
+                             .andReturn().getResponse().getContentAsByteArray();
+
+        // Then
+        JsonNode car = new SmileMapper().readTree(body);
+        assertThat(car.get("licensePlate").asText()).isEqualTo("GPK-6219");
+        assertThat(car.get("parkingSpot").get("registrationDate").asText()).isEqualTo("2022-09-03T10:15:30Z");
+    }
+
+    @Test
+    void shouldReadAndWriteCbor() throws Exception {
+        // Given
+        CarDTO carDTO = new CarDTO();
+        carDTO.setLicensePlate("GPK-6219");
+        carDTO.setBrand("Audi");
+        carDTO.setModel("A1");
+        carDTO.setColor("Silver");
+        ObjectMapper cborMapper = new CBORMapper();
+
+        // When
+        Mockito.when(carService.save(any(CarModel.class))).thenAnswer(invocation -> {
+            CarModel carModel = invocation.getArgument(0);
+            carModel.setId(ID);
+            return carModel;
+        });
+
+        // Then
+        byte[] body = mockMvc.perform(post("/cars")
+                                              .contentType(MediaType.APPLICATION_CBOR)
+                                              .accept(MediaType.APPLICATION_CBOR)
+                                              .content(cborMapper.writeValueAsBytes(carDTO)))
+                             .andExpect(status().isCreated())
+                             .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                             .andReturn().getResponse().getContentAsByteArray();
+        CarModel car = cborMapper.readValue(body, CarModel.class);
+        assertThat(car.getId()).isEqualTo(ID);
+        assertThat(car.getLicensePlate()).isEqualTo("GPK-6219");
+    }
+}
@@ -0,0 +1,113 @@
+package com.example.parkingcontrol.configs;
+
+import com.example.parkingcontrol.controllers.CarController;
+import com.example.parkingcontrol.mappers.CarMapperImpl;
+import com.example.parkingcontrol.projections.CarView;
+import com.example.parkingcontrol.services.CarService;
+import com.example.parkingcontrol.services.ChangeCounter;
+import com.example.parkingcontrol.services.OptimisticRetry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(CarController.class)
+@Import({ConditionalGetConfig.class, CarMapperImpl.class, OptimisticRetry.class})
+@ActiveProfiles("test")
+class ConditionalGetConfigTest {
+    private static final UUID ID = UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c");
+
+    private static final UUID PARKING_SPOT_ID = UUID.fromString("0a96e04e-b60f-4b69-9524-e221cf341ccb");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    ChangeCounter changeCounter;
+
+    @MockBean
+    CarService carService;
+
+    @Test
+    void shouldAnswerUnchangedSearchWithNotModifiedWithoutQuerying() throws Exception {
+        // Given
+        Mockito.when(changeCounter.etag()).thenReturn(ChangeCounter.etag(7));
+
+        // When
+        mockMvc.perform(get("/cars/license-plate?number=GPK-6219")
+                                .header(HttpHeaders.IF_NONE_MATCH, ChangeCounter.etag(7)))
+               .andExpect(status().isNotModified())
+               .andExpect(header().string(HttpHeaders.ETAG, ChangeCounter.etag(7)))
+               .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)))
+               .andExpect(content().string(""));
+
+        // Then
+        verify(carService, never()).findByLicensePlate(anyString());
+    }
+
+    @Test
+    void shouldReturnSearchAgainOnceSomethingChanged() throws Exception {
+        // Given
+        Mockito.when(changeCounter.etag()).thenReturn(ChangeCounter.etag(8));
+        Mockito.when(carService.findByLicensePlate("GPK-6219")).thenReturn(Optional.of(car(3, null)));
+
+        // When
+        mockMvc.perform(get("/cars/license-plate?number=GPK-6219")
+                                .header(HttpHeaders.IF_NONE_MATCH, ChangeCounter.etag(7)))
+               .andExpect(status().isOk())
+               .andExpect(header().string(HttpHeaders.ETAG, ChangeCounter.etag(8)))
+               .andExpect(jsonPath("$.licensePlate").value("GPK-6219"));
+    }
+
+    @Test
+    void shouldTagReadByIdWithVersionsInsteadOfCounter() throws Exception {
+        // Given
+        Mockito.when(carService.findViewById(ID)).thenReturn(Optional.of(car(3, 5L)));
+        String etag = "\"3-" + PARKING_SPOT_ID + "-5\"";
+
+        // When
+        mockMvc.perform(get("/cars/{id}", ID).header(HttpHeaders.IF_NONE_MATCH, etag))
+               .andExpect(status().isNotModified())
+               .andExpect(header().string(HttpHeaders.ETAG, etag))
+               .andExpect(header().stringValues(HttpHeaders.VARY, hasItem(HttpHeaders.ACCEPT)));
+
+        // Then
+        verify(changeCounter, never()).etag();
+    }
+
+    @Test
+    void shouldReturnReadByIdAgainOnceEmbeddedParkingSpotChanged() throws Exception {
+        // Given
+        Mockito.when(carService.findViewById(ID)).thenReturn(Optional.of(car(3, 6L)));
+
+        // When
+        mockMvc.perform(get("/cars/{id}", ID).header(HttpHeaders.IF_NONE_MATCH, "\"3-" + PARKING_SPOT_ID + "-5\""))
+               .andExpect(status().isOk())
+               .andExpect(header().string(HttpHeaders.ETAG, "\"3-" + PARKING_SPOT_ID + "-6\""))
+               .andExpect(jsonPath("$.version").value(3))
+               .andExpect(jsonPath("$.parkingSpotVersion").doesNotExist());
+    }
+
+    private static CarView car(long version, Long parkingSpotVersion) {
+        return parkingSpotVersion == null
+               ? new CarView(ID, "GPK-6219", "Audi", "A1", "Silver", version, null, null)
+               : new CarView(ID, "GPK-6219", "Audi", "A1", "Silver", version, PARKING_SPOT_ID, "701-A",
+                             LocalDateTime.parse("2022-09-03T10:15:30"), "Jade", "701", "A", parkingSpotVersion);
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.parkingcontrol.configs;
+
+import com.example.parkingcontrol.models.CarModel;
+import com.example.parkingcontrol.models.ParkingSpotModel;
+import com.example.parkingcontrol.repositories.CarRepository;
+import com.example.parkingcontrol.repositories.ParkingSpotRepository;
+import com.example.parkingcontrol.services.CarService;
+import com.example.parkingcontrol.services.ParkingSpotService;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.parkingcontrol.models.ModelFixtures.newCar;
+import static com.example.parkingcontrol.models.ModelFixtures.newParkingSpot;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import({EntityCacheConfig.class, CarService.class, ParkingSpotService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class EntityCacheConfigTest {
+    @Autowired
+    CarService carService;
+
+    @Autowired
+    ParkingSpotService parkingSpotService;
+
+    @Autowired
+    CarRepository carRepository;
+
+    @Autowired
+    ParkingSpotRepository parkingSpotRepository;
+
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+
+    Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void tearDown() {
+        parkingSpotRepository.deleteAll();
+        carRepository.deleteAll();
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache() {
+        // Given
+        CarModel car = carService.save(newCar("ABC-1234"));
+        statistics.clear();
+
+        // When
+        carService.findById(car.getId());
+        carService.findById(car.getId());
+
+        // Then
+        assertThat(statistics.getDomainDataRegionStatistics(CarModel.CACHE_REGION).getHitCount()).isEqualTo(2);
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void shouldServeReadsByIdFromEntityCacheOnly() {
+        // Given
+        CarModel car = carService.save(newCar("ABC-1234"));
+        statistics.clear();
+
+        // When
+        carService.findViewById(car.getId());
+        carService.findViewById(car.getId());
+
+        // Then
+        assertThat(statistics.getDomainDataRegionStatistics(CarModel.CACHE_REGION).getHitCount()).isEqualTo(2);
+        assertThat(statistics.getQueryCachePutCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void shouldNotCacheExportedEntities() {
+        // Given
+        carService.save(newCar("ABC-1234"));
+        parkingSpotService.save(newParkingSpot("701-A", "701", "A"));
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+        statistics.clear();
+        List<CarModel> cars = new ArrayList<>();
+        List<ParkingSpotModel> parkingSpots = new ArrayList<>();
+
+        // When
+        carService.exportAll(cars::add);
+        parkingSpotService.exportAll(parkingSpots::add);
+
+        // Then
+        assertThat(cars).hasSize(1);
+        assertThat(parkingSpots).hasSize(1);
+        assertThat(statistics.getSecondLevelCachePutCount()).isZero();
+    }
+
+    @Test
+    void shouldReplaceCachedEntityOnUpdate() {
+        // Given
+        CarModel car = carService.save(newCar("ABC-1234"));
+        carService.findById(car.getId());
+
+        // When
+        car.setColor("Red");
+        carService.save(car);
+
+        // Then
+        assertThat(carService.findById(car.getId())).hasValueSatisfying(
+                cached -> assertThat(cached.getColor()).isEqualTo("Red"));
+    }
+
+    @Test
+    void shouldEvictCachedEntityOnDelete() {
+        // Given
+        CarModel car = carService.save(newCar("ABC-1234"));
+        carService.findById(car.getId());
+
+        // When
+        carService.delete(car.getId());
+
+        // Then
+        assertThat(carService.findById(car.getId())).isEmpty();
+    }
+
+    @Test
+    void shouldServeRepeatedQueriesFromCacheUntilTableChanges() {
+        // Given
+        parkingSpotService.save(newParkingSpot("701-A", "701", "A"));
+        statistics.clear();
+
+        // When
+        parkingSpotService.findBySpotNumber("701-A");
+        parkingSpotService.findBySpotNumber("701-A");
+        parkingSpotService.save(newParkingSpot("702-A", "702", "A"));
+        parkingSpotService.findBySpotNumber("701-A");
+
+        // Then
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getQueryCacheMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReflectAssignedCarInCachedLookups() {
+        // Given
+        CarModel car = carService.save(newCar("ABC-1234"));
+        ParkingSpotModel parkingSpot = parkingSpotService.save(newParkingSpot("701-A", "701", "A"));
+        carService.findByLicensePlate("ABC-1234");
+        parkingSpotService.findById(parkingSpot.getId());
+
+        // When
+        parkingSpotService.assignCar(parkingSpot.getId(), car.getId());
+
+        // Then
+        assertThat(carService.findByLicensePlate("ABC-1234")).hasValueSatisfying(
+                cached -> assertThat(cached.getParkingSpot().getSpotNumber()).isEqualTo("701-A"));
+        assertThat(parkingSpotService.findById(parkingSpot.getId())).hasValueSatisfying(
+                cached -> assertThat(cached.getCar().getLicensePlate()).isEqualTo("ABC-1234"));
+    }
+}
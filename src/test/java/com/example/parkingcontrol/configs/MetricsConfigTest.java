@@ -0,0 +1,97 @@
+package com.example.parkingcontrol.configs;
+
+import com.example.parkingcontrol.repositories.CarRepository;
+import com.example.parkingcontrol.services.CarService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.persistence.EntityManagerFactory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MetricsConfigTest {
+    @Test
+    void shouldTimeServiceMethods() {
+        new ApplicationContextRunner()
+                .withConfiguration(AutoConfigurations.of(AopAutoConfiguration.class))
+                .withUserConfiguration(MetricsConfig.class)
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .withBean(WarmUpRequests.class)
+                .withBean(EntityManagerFactory.class, () -> Mockito.mock(EntityManagerFactory.class))
+                .withBean(CarRepository.class, () -> Mockito.mock(CarRepository.class))
+                .withBean(CarService.class)
+                .run(context -> {
+                    // When
+                    context.getBean(CarService.class).existsByLicensePlate("ABC-1234");
+
+                    // Then
+                    assertThat(context.getBean(MeterRegistry.class)
+                                      .get(ServiceTimingAspect.METRIC_NAME)
+                                      .tag("class", "CarService")
+                                      .tag("method", "existsByLicensePlate")
+                                      .tag("exception", "none")
+                                      .timer().count()).isEqualTo(1);
+                });
+    }
+
+    @Test
+    void shouldCountNotFoundAndConflictOutcomesPerEndpoint() {
+        // Given
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        OutcomeMetricsInterceptor interceptor = new OutcomeMetricsInterceptor(meterRegistry, new WarmUpRequests());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/cars/license-plate");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/cars/license-plate");
+        MockHttpServletResponse notFound = new MockHttpServletResponse();
+        notFound.setStatus(404);
+        MockHttpServletResponse ok = new MockHttpServletResponse();
+
+        // When
+        interceptor.afterCompletion(request, notFound, null, null);
+        interceptor.afterCompletion(request, ok, null, null);
+
+        // Then
+        assertThat(meterRegistry.get(OutcomeMetricsInterceptor.METRIC_NAME)
+                                .tag("outcome", "not_found")
+                                .tag("uri", "/cars/license-plate")
+                                .counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.find(OutcomeMetricsInterceptor.METRIC_NAME).tag("outcome", "conflict").counter())
+                .isNull();
+    }
+
+    @Test
+    void shouldNotCountOutcomesOfWarmUpRequests() {
+        // Given
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        WarmUpRequests warmUpRequests = new WarmUpRequests();
+        OutcomeMetricsInterceptor interceptor = new OutcomeMetricsInterceptor(meterRegistry, warmUpRequests);
+        MockHttpServletRequest warmUp = new MockHttpServletRequest("GET", "/cars/license-plate");
+        warmUp.addHeader(WarmUpRequests.HEADER, warmUpRequests.token());
+        MockHttpServletRequest forged = new MockHttpServletRequest("GET", "/cars/license-plate");
+        forged.addHeader(WarmUpRequests.HEADER, "true");
+        MockHttpServletResponse notFound = new MockHttpServletResponse();
+        notFound.setStatus(404);
+
+        // When
+        interceptor.afterCompletion(warmUp, notFound, null, null);
+        interceptor.afterCompletion(forged, notFound, null, null);
+
+        // Then
+        assertThat(meterRegistry.get(OutcomeMetricsInterceptor.METRIC_NAME)
+                                .tag("outcome", "not_found")
+                                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldCollapseIdsInReactiveUriTags() {
+        assertThat(ReactiveReadServer.uriTag("/cars/3e01ec1b-85c1-4892-bf11-c02eca5b198c")).isEqualTo("/cars/{id}");
+        assertThat(ReactiveReadServer.uriTag("/cars/license-plate")).isEqualTo("/cars/license-plate");
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.parkingcontrol.configs;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {"spring.jpa.hibernate.ddl-auto=create-drop",
+                              "spring.jpa.database-platform=org.hibernate.dialect.H2Dialect"})
+@AutoConfigureTestDatabase
+@ActiveProfiles("fast-startup")
+class StartupConfigTest {
+    @Autowired
+    ConfigurableApplicationContext context;
+
+    @Test
+    void shouldCreateOnlyTheStartupBeansEagerly() {
+        // Given
+        String[] startupBeans = {"occupancyIndex", "ownerIndex", "parkingSessionLedger"};
+
+        // When
+        boolean lazy = context.getEnvironment().getProperty("spring.main.lazy-initialization", Boolean.class);
+
+        // Then
+        assertThat(lazy).isTrue();
+        for (String startupBean : startupBeans) {
+            assertThat(context.getBeanFactory().containsSingleton(startupBean)).as(startupBean).isTrue();
+        }
+        assertThat(context.getBeanFactory().containsSingleton("spotAllocator")).isFalse();
+    }
+}
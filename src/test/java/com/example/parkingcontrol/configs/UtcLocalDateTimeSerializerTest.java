@@ -0,0 +1,61 @@
+package com.example.parkingcontrol.configs;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UtcLocalDateTimeSerializerTest {
+    private final ObjectMapper objectMapper = new DateConfig().objectMapper();
+
+    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern(DateConfig.DATETIME_FORMAT);
+
+    @Test
+    void shouldWriteTheFixedUtcFormat() throws Exception {
+        // Given
+        LocalDateTime dateTime = LocalDateTime.parse("2022-09-03T07:05:09.123456789");
+
+        // When
+        String json = objectMapper.writeValueAsString(dateTime);
+
+        // Then
+        assertThat(json).isEqualTo("\"2022-09-03T07:05:09Z\"");
+    }
+
+    @Test
+    void shouldMatchThePatternFormatter() throws Exception {
+        // Given
+        Random random = new Random(42);
+
+        for (int i = 0; i < 10_000; i++) {
+            LocalDateTime dateTime = LocalDateTime.of(1 + random.nextInt(9999), 1 + random.nextInt(12),
+                                                      1 + random.nextInt(28), random.nextInt(24), random.nextInt(60),
+                                                      random.nextInt(60), random.nextInt(1_000_000_000));
+
+            // When
+            String json = objectMapper.writeValueAsString(dateTime);
+
+            // Then
+            assertThat(json).isEqualTo("\"" + formatter.format(dateTime) + "\"");
+        }
+    }
+
+    @Test
+    void shouldFallBackToThePatternOutsideFourDigitYears() throws Exception {
+        // Given
+        LocalDateTime[] dateTimes = {LocalDateTime.MIN, LocalDateTime.parse("0000-01-01T00:00:00"),
+                                     LocalDateTime.parse("+10000-01-01T00:00:00"), LocalDateTime.MAX};
+
+        for (LocalDateTime dateTime : dateTimes) {
+            // When
+            String json = objectMapper.writeValueAsString(dateTime);
+
+            // Then
+            assertThat(json).isEqualTo("\"" + formatter.format(dateTime) + "\"");
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.parkingcontrol.configs;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VirtualThreadConfigTest {
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(TaskExecutionAutoConfiguration.class))
+            .withUserConfiguration(VirtualThreadConfig.class);
+
+    @Test
+    void shouldKeepPlatformThreadsByDefault() {
+        contextRunner.run(context -> {
+            assertThat(context).doesNotHaveBean(TomcatProtocolHandlerCustomizer.class);
+            assertThat(context.getBean(AsyncTaskExecutor.class)).isInstanceOf(ThreadPoolTaskExecutor.class);
+        });
+    }
+
+    @Test
+    void shouldRunTasksOnVirtualThreadsWhenEnabled() {
+        contextRunner.withPropertyValues("parking-control.virtual-threads.enabled=true").run(context -> {
+            assertThat(context).hasSingleBean(TomcatProtocolHandlerCustomizer.class);
+
+            CompletableFuture<Boolean> virtual = new CompletableFuture<>();
+            context.getBean(AsyncTaskExecutor.class).execute(() -> virtual.complete(Thread.currentThread().isVirtual()));
+            assertThat(virtual.get()).isTrue();
+        });
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.parkingcontrol.configs;
+
+import com.example.parkingcontrol.repositories.CarRepository;
+import com.example.parkingcontrol.repositories.ParkingSpotRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+                properties = {"parking-control.warm-up.enabled=true", "parking-control.warm-up.iterations=20",
+                              "parking-control.warm-up.window=5"})
+@AutoConfigureTestDatabase
+class WarmUpRunnerTest {
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    CarRepository carRepository;
+
+    @Autowired
+    ParkingSpotRepository parkingSpotRepository;
+
+    @Test
+    void shouldWarmUpWithoutWritingOrBeingMetered() {
+        // Given the warm-up ran during startup
+
+        // When
+        double rounds = Metrics.globalRegistry.get("parking-control.warm-up.rounds").counter().count();
+
+        // Then
+        assertThat(rounds).isBetween(1.0, 20.0);
+        assertThat(meterRegistry.find("http.server.requests").meters()).isEmpty();
+        assertThat(meterRegistry.find(OutcomeMetricsInterceptor.METRIC_NAME).meters()).isEmpty();
+        assertThat(meterRegistry.find(ServiceTimingAspect.METRIC_NAME).tag("class", "CarService").meters()).isEmpty();
+        assertThat(meterRegistry.find(ServiceTimingAspect.METRIC_NAME).tag("class", "ParkingSpotService").meters())
+                .isEmpty();
+        assertThat(lookupCacheSize(CacheConfig.CARS_BY_LICENSE_PLATE)).isEqualTo(1);
+        assertThat(lookupCacheSize(CacheConfig.PARKING_SPOTS_BY_SPOT_NUMBER)).isEqualTo(1);
+        assertThat(carRepository.count()).isZero();
+        assertThat(parkingSpotRepository.count()).isZero();
+    }
+
+    private long lookupCacheSize(String name) {
+        return ((Cache<?, ?>) cacheManager.getCache(name).getNativeCache())
+                .estimatedSize();
+    }
+}
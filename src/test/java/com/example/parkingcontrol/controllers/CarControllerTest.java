@@ -1,8 +1,13 @@
 package com.example.parkingcontrol.controllers;
 
+import com.example.parkingcontrol.dtos.CarBatchDTO;
 import com.example.parkingcontrol.dtos.CarDTO;
+import com.example.parkingcontrol.dtos.CursorPageDTO;
+import com.example.parkingcontrol.exceptions.ConflictException;
+import com.example.parkingcontrol.mappers.CarMapperImpl;
 import com.example.parkingcontrol.models.CarModel;
 import com.example.parkingcontrol.models.ParkingSpotModel;
+import com.example.parkingcontrol.projections.CarView;
 import com.example.parkingcontrol.services.CarService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
@@ -11,12 +16,20 @@ import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Consumer;
 
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
@@ -26,6 +39,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(CarController.class)
+@Import(CarMapperImpl.class)
 @ActiveProfiles("test")
 class CarControllerTest {
     @Autowired
@@ -82,29 +96,183 @@ class CarControllerTest {
                .andExpect(content().string("Conflict: License plate is already in use!"));
     }
 
+    @Test
+    void shouldSaveBatchAndReportConflictsPerItem() throws Exception {
+        // Given
+        CarBatchDTO carBatchDTO = new CarBatchDTO();
+        carBatchDTO.setCars(List.of(newCarDTO("GPK-6219"), newCarDTO("ABC-1234"), newCarDTO("GPK-6219"),
+                                    newCarDTO("XYZ-9876")));
+
+        CarModel savedFirst = new CarModel();
+        savedFirst.setId(UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c"));
+        savedFirst.setLicensePlate("GPK-6219");
+
+        CarModel savedLast = new CarModel();
+        savedLast.setId(UUID.fromString("4f12fd2c-96d2-4892-bf11-c02eca5b198c"));
+        savedLast.setLicensePlate("XYZ-9876");
+
+        // When
+        Mockito.when(carService.findExistingLicensePlates(Set.of("GPK-6219", "ABC-1234", "XYZ-9876")))
+               .thenReturn(Set.of("ABC-1234"));
+        Mockito.when(carService.saveAll(any())).thenReturn(List.of(savedFirst, savedLast));
+
+        // Then
+        mockMvc.perform(post("/cars/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(carBatchDTO)))
+               .andExpect(status().isCreated())
+               .andExpect(jsonPath("$[0].status", is("CREATED")))
+               .andExpect(jsonPath("$[0].id", is("3e01ec1b-85c1-4892-bf11-c02eca5b198c")))
+               .andExpect(jsonPath("$[1].status", is("CONFLICT")))
+               .andExpect(jsonPath("$[1].message", is("Conflict: License plate is already in use!")))
+               .andExpect(jsonPath("$[2].status", is("CONFLICT")))
+               .andExpect(jsonPath("$[2].message", is("Conflict: License plate is repeated in this batch!")))
+               .andExpect(jsonPath("$[3].status", is("CREATED")))
+               .andExpect(jsonPath("$[3].id", is("4f12fd2c-96d2-4892-bf11-c02eca5b198c")));
+
+        verify(carService, times(1)).saveAll(any());
+    }
+
+    @Test
+    void shouldFailBatchWhenEveryLicensePlateExists() throws Exception {
+        // Given
+        CarBatchDTO carBatchDTO = new CarBatchDTO();
+        carBatchDTO.setCars(List.of(newCarDTO("GPK-6219")));
+
+        // When
+        Mockito.when(carService.findExistingLicensePlates(Set.of("GPK-6219"))).thenReturn(Set.of("GPK-6219"));
+
+        // Then
+        mockMvc.perform(post("/cars/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(carBatchDTO)))
+               .andExpect(status().isConflict())
+               .andExpect(jsonPath("$[0].status", is("CONFLICT")));
+
+        verify(carService, times(0)).saveAll(any());
+    }
+
+    @Test
+    void shouldFailBatchWhenLicensePlateIsTakenConcurrently() throws Exception {
+        // Given
+        CarBatchDTO carBatchDTO = new CarBatchDTO();
+        carBatchDTO.setCars(List.of(newCarDTO("GPK-6219")));
+
+        // When
+        Mockito.when(carService.findExistingLicensePlates(Set.of("GPK-6219"))).thenReturn(Set.of());
+        Mockito.when(carService.saveAll(any()))
+               .thenThrow(new ConflictException("Conflict: License plate is already in use!", null));
+
+        // Then
+        mockMvc.perform(post("/cars/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(carBatchDTO)))
+               .andExpect(status().isConflict())
+               .andExpect(content().string("Conflict: License plate is already in use!"));
+    }
+
+    @Test
+    void shouldFailBatchWhenInvalidCarDTOSubmitted() throws Exception {
+        // Given
+        CarBatchDTO carBatchDTO = new CarBatchDTO();
+        carBatchDTO.setCars(List.of(newCarDTO("GPK")));
+
+        // Then
+        mockMvc.perform(post("/cars/batch")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(carBatchDTO)))
+               .andExpect(status().isBadRequest());
+    }
+
     @Test
     void shouldGetAllCars() throws Exception {
         mockMvc.perform(get("/cars")).andExpect(status().isOk());
     }
 
+    @Test
+    void shouldGetPageOfCars() throws Exception {
+        // Given
+        CarView carView = new CarView(UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c"), "GPK-6219", "Audi", "A1",
+                                      "Silver", 0, null, null);
+
+        // When
+        Mockito.when(carService.findPage("M2UwMWVjMWI", 1))
+               .thenReturn(new CursorPageDTO<>(List.of(carView), "M2UwMWVjMWItODVjMQ"));
+
+        // Then
+        mockMvc.perform(get("/cars?limit=1&next=M2UwMWVjMWI"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.content[0].id", is("3e01ec1b-85c1-4892-bf11-c02eca5b198c")))
+               .andExpect(jsonPath("$.next", is("M2UwMWVjMWItODVjMQ")));
+    }
+
+    @Test
+    void shouldFailGetAllWhenLimitOutOfRange() throws Exception {
+        mockMvc.perform(get("/cars?limit=101"))
+               .andExpect(status().isBadRequest())
+               .andExpect(content().string("Invalid limit: must be between 1 and 100."));
+    }
+
+    @Test
+    void shouldFailGetAllWhenCursorIsInvalid() throws Exception {
+        // When
+        Mockito.when(carService.findPage("invalid", 20)).thenThrow(new IllegalArgumentException());
+
+        // Then
+        mockMvc.perform(get("/cars?next=invalid"))
+               .andExpect(status().isBadRequest())
+               .andExpect(content().string("Invalid cursor."));
+    }
+
+    @Test
+    void shouldExportCarsAsNdjson() throws Exception {
+        // Given
+        CarModel first = new CarModel();
+        first.setId(UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c"));
+        CarModel second = new CarModel();
+        second.setId(UUID.fromString("4f12fd2c-96d2-4892-bf11-c02eca5b198c"));
+
+        // When
+        Mockito.doAnswer(invocation -> {
+            Consumer<CarModel> consumer = invocation.getArgument(0);
+            consumer.accept(first);
+            consumer.accept(second);
+            return null;
+        }).when(carService).exportAll(any());
+
+        MvcResult mvcResult = mockMvc.perform(get("/cars/export")).andExpect(request().asyncStarted()).andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(mvcResult))
+               .andExpect(status().isOk())
+               .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+               .andExpect(content().string(objectMapper.writeValueAsString(first) + "\n"
+                                                   + objectMapper.writeValueAsString(second) + "\n"));
+    }
+
     @Test
     void shouldFindCarById() throws Exception {
         // Given
-        CarModel carModel = new CarModel();
-        carModel.setId(UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c"));
+        CarView carView = new CarView(UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c"), "GPK-6219", "Audi", "A1",
+                                      "Silver", 0, UUID.fromString("0a96e04e-b60f-4b69-9524-e221cf341ccb"), "701-A",
+                                      LocalDateTime.parse("2022-09-03T10:15:30"), "Jade", "701", "A", 0L);
 
         // When
-        Mockito.when(carService.findById(UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c"))).thenReturn(
-                Optional.of(carModel));
+        Mockito.when(carService.findViewById(UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c"))).thenReturn(
+                Optional.of(carView));
 
         // Then
-        mockMvc.perform(get("/cars/3e01ec1b-85c1-4892-bf11-c02eca5b198c")).andExpect(status().isOk());
+        mockMvc.perform(get("/cars/3e01ec1b-85c1-4892-bf11-c02eca5b198c"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.licensePlate", is("GPK-6219")))
+               .andExpect(jsonPath("$.parkingSpot.id", is("0a96e04e-b60f-4b69-9524-e221cf341ccb")))
+               .andExpect(jsonPath("$.parkingSpot.spotNumber", is("701-A")));
     }
 
     @Test
     void shouldFailWhenCarNotFoundById() throws Exception {
         // When
-        Mockito.when(carService.findById(UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c")))
+        Mockito.when(carService.findViewById(UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c")))
                .thenReturn(Optional.empty());
 
         // Then
@@ -116,11 +284,11 @@ class CarControllerTest {
     @Test
     void shouldFindCarByLicensePlate() throws Exception {
         // Given
-        CarModel carModel = new CarModel();
-        carModel.setLicensePlate("GPK-6219");
+        CarView carView = new CarView(UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c"), "GPK-6219", "Audi", "A1",
+                                      "Silver", 0, null, null);
 
         // When
-        Mockito.when(carService.findByLicensePlate("GPK-6219")).thenReturn(Optional.of(carModel));
+        Mockito.when(carService.findByLicensePlate("GPK-6219")).thenReturn(Optional.of(carView));
 
         // Then
         mockMvc.perform(get("/cars/license-plate?number=GPK-6219")).andExpect(status().isOk());
@@ -166,6 +334,108 @@ class CarControllerTest {
                .andExpect(content().string(objectMapper.writeValueAsString(carModel)));
     }
 
+    @Test
+    void shouldUpdateCarWhenIfMatchHoldsTagOfPreviousRead() throws Exception {
+        // Given
+        CarView carView = new CarView(UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c"), "GPK-6219", "Audi", "A1",
+                                      "Silver", 2, UUID.fromString("0a96e04e-b60f-4b69-9524-e221cf341ccb"), "701-A",
+                                      LocalDateTime.parse("2022-09-03T10:15:30"), "Jade", "701", "A", 5L);
+
+        CarDTO carDTO = new CarDTO();
+        carDTO.setBrand("Audi");
+        carDTO.setModel("A1");
+        carDTO.setColor("Black");
+        carDTO.setLicensePlate("GPK-6219");
+
+        CarModel carModel = new CarModel();
+        carModel.setId(carView.getId());
+        carModel.setVersion(2);
+
+        CarModel savedCar = new CarModel();
+        savedCar.setId(carModel.getId());
+        savedCar.setVersion(3);
+
+        // When
+        Mockito.when(carService.findViewById(carModel.getId())).thenReturn(Optional.of(carView));
+        Mockito.when(carService.findById(carModel.getId())).thenReturn(Optional.of(carModel));
+        Mockito.when(carService.save(carModel)).thenReturn(savedCar);
+
+        // Then
+        String etag = mockMvc.perform(get("/cars/3e01ec1b-85c1-4892-bf11-c02eca5b198c"))
+                             .andExpect(status().isOk())
+                             .andExpect(jsonPath("$.version", is(2)))
+                             .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(put("/cars/update/3e01ec1b-85c1-4892-bf11-c02eca5b198c")
+                                .header(HttpHeaders.IF_MATCH, etag)
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(carDTO)))
+               .andExpect(status().isOk())
+               .andExpect(header().string(HttpHeaders.ETAG, "\"3\""));
+    }
+
+    @Test
+    void shouldFailUpdateWhenIfMatchHoldsStaleVersion() throws Exception {
+        // Given
+        CarDTO carDTO = new CarDTO();
+        carDTO.setBrand("Audi");
+        carDTO.setModel("A1");
+        carDTO.setColor("Silver");
+        carDTO.setLicensePlate("GPK-6219");
+
+        CarModel carModel = new CarModel();
+        carModel.setId(UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c"));
+        carModel.setVersion(2);
+
+        // When
+        Mockito.when(carService.findById(carModel.getId())).thenReturn(Optional.of(carModel));
+
+        // Then
+        mockMvc.perform(put("/cars/update/3e01ec1b-85c1-4892-bf11-c02eca5b198c")
+                                .header(HttpHeaders.IF_MATCH, "\"1\"")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(carDTO)))
+               .andExpect(status().isPreconditionFailed())
+               .andExpect(header().string(HttpHeaders.ETAG, "\"2\""))
+               .andExpect(content().string("Car was modified since it was read."));
+
+        verify(carService, times(0)).save(any());
+    }
+
+    @Test
+    void shouldFailUpdateThatLostARaceWithoutRetrying() throws Exception {
+        // Given
+        CarDTO carDTO = new CarDTO();
+        carDTO.setBrand("Audi");
+        carDTO.setModel("A1");
+        carDTO.setColor("Silver");
+        carDTO.setLicensePlate("GPK-6219");
+
+        CarModel carModel = new CarModel();
+        carModel.setId(UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c"));
+
+        // When
+        Mockito.when(carService.findById(carModel.getId())).thenReturn(Optional.of(carModel));
+        Mockito.when(carService.save(carModel))
+               .thenThrow(new ObjectOptimisticLockingFailureException(CarModel.class, carModel.getId()));
+
+        // Then
+        mockMvc.perform(put("/cars/update/3e01ec1b-85c1-4892-bf11-c02eca5b198c")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(carDTO)))
+               .andExpect(status().isConflict())
+               .andExpect(content().string("Conflict: Car is being updated concurrently!"));
+
+        mockMvc.perform(put("/cars/update/3e01ec1b-85c1-4892-bf11-c02eca5b198c")
+                                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(carDTO)))
+               .andExpect(status().isPreconditionFailed())
+               .andExpect(content().string("Car was modified since it was read."));
+
+        verify(carService, times(2)).save(carModel);
+    }
+
     @Test
     void shouldFailUpdateWhenInvalidCarDTOSubmitted() throws Exception {
         // Given
@@ -253,4 +523,14 @@ class CarControllerTest {
                .andExpect(status().isNotFound())
                .andExpect(content().string("Car not found."));
     }
-}
\ No newline at end of file
+
+    private static CarDTO newCarDTO(String licensePlate) {
+        CarDTO carDTO = new CarDTO();
+        carDTO.setBrand("Audi");
+        carDTO.setModel("A1");
+        carDTO.setColor("Silver");
+        carDTO.setLicensePlate(licensePlate);
+
+        return carDTO;
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.parkingcontrol.controllers;
+
+import com.example.parkingcontrol.mappers.ParkingSessionEventMapperImpl;
+import com.example.parkingcontrol.models.ParkingSessionEventModel;
+import com.example.parkingcontrol.models.SessionEventType;
+import com.example.parkingcontrol.services.ParkingSessionLedger;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ParkingSessionController.class)
+@Import(ParkingSessionEventMapperImpl.class)
+@ActiveProfiles("test")
+class ParkingSessionControllerTest {
+    private static final String EVENTS = "{\"events\": ["
+                                         + "{\"licensePlate\": \"ABC-1234\", \"spotNumber\": \"701-A\","
+                                         + " \"gate\": \"north\", \"type\": \"ENTRY\","
+                                         + " \"occurredAt\": \"2022-09-03T10:15:30\"},"
+                                         + "{\"licensePlate\": \"XYZ-9876\", \"gate\": \"south\","
+                                         + " \"type\": \"EXIT\", \"occurredAt\": \"2022-09-03T10:16:00\"}]}";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    ParkingSessionLedger parkingSessionLedger;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void shouldAcceptEventsQueuedByTheLedger() throws Exception {
+        // Given
+        Mockito.when(parkingSessionLedger.offer(anyList())).thenReturn(true);
+
+        // When
+        mockMvc.perform(post("/parking-session/events")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(EVENTS))
+               .andExpect(status().isAccepted())
+               .andExpect(content().string("2 events accepted."));
+
+        // Then
+        ArgumentCaptor<List<ParkingSessionEventModel>> captor = ArgumentCaptor.forClass(List.class);
+        verify(parkingSessionLedger).offer(captor.capture());
+        assertThat(captor.getValue())
+                .extracting(ParkingSessionEventModel::getLicensePlate, ParkingSessionEventModel::getType)
+                .containsExactly(
+                        tuple("ABC-1234", SessionEventType.ENTRY),
+                        tuple("XYZ-9876", SessionEventType.EXIT));
+        assertThat(captor.getValue().get(0).getOccurredAt()).isEqualTo(LocalDateTime.parse("2022-09-03T10:15:30"));
+    }
+
+    @Test
+    void shouldAskToRetryWhenLedgerIsFull() throws Exception {
+        // Given
+        Mockito.when(parkingSessionLedger.offer(anyList())).thenReturn(false);
+
+        // When, Then
+        mockMvc.perform(post("/parking-session/events")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(EVENTS))
+               .andExpect(status().isServiceUnavailable())
+               .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+               .andExpect(content().string("Session ledger is full, retry later."));
+    }
+
+    @Test
+    void shouldRejectInvalidEvents() throws Exception {
+        // Given
+        String events = "{\"events\": [{\"licensePlate\": \"ABC-1234\", \"gate\": \"north\","
+                        + " \"occurredAt\": \"2022-09-03T10:15:30\"}]}";
+
+        // When
+        mockMvc.perform(post("/parking-session/events")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(events))
+               .andExpect(status().isBadRequest());
+
+        // Then
+        verify(parkingSessionLedger, never()).offer(anyList());
+    }
+}
@@ -1,11 +1,23 @@
 package com.example.parkingcontrol.controllers;
 
+import com.example.parkingcontrol.dtos.BlockOccupancyDTO;
 import com.example.parkingcontrol.dtos.CarDTO;
+import com.example.parkingcontrol.dtos.CursorPageDTO;
+import com.example.parkingcontrol.dtos.OccupancyDTO;
 import com.example.parkingcontrol.dtos.ParkingSpotDTO;
+import com.example.parkingcontrol.exceptions.ConflictException;
+import com.example.parkingcontrol.mappers.CarMapperImpl;
+import com.example.parkingcontrol.mappers.ParkingSpotMapperImpl;
 import com.example.parkingcontrol.models.CarModel;
 import com.example.parkingcontrol.models.ParkingSpotModel;
+import com.example.parkingcontrol.projections.CarView;
+import com.example.parkingcontrol.projections.ParkingSpotView;
 import com.example.parkingcontrol.services.CarService;
+import com.example.parkingcontrol.services.OccupancyIndex;
+import com.example.parkingcontrol.services.OccupancyStream;
+import com.example.parkingcontrol.services.OwnerIndex;
 import com.example.parkingcontrol.services.ParkingSpotService;
+import com.example.parkingcontrol.services.SpotAllocator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
@@ -13,13 +25,21 @@ import org.springframework.beans.BeanUtils;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.hamcrest.Matchers.is;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.times;
@@ -28,6 +48,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(ParkingSpotController.class)
+@Import({ParkingSpotMapperImpl.class, CarMapperImpl.class})
 @ActiveProfiles("test")
 class ParkingSpotControllerTest {
     @Autowired
@@ -42,6 +63,18 @@ class ParkingSpotControllerTest {
     @MockBean
     CarService carService;
 
+    @MockBean
+    OccupancyIndex occupancyIndex;
+
+    @MockBean
+    OwnerIndex ownerIndex;
+
+    @MockBean
+    OccupancyStream occupancyStream;
+
+    @MockBean
+    SpotAllocator spotAllocator;
+
     @Test
     void shouldSaveNewParkingSpot() throws Exception {
         // Given
@@ -77,7 +110,8 @@ class ParkingSpotControllerTest {
         parkingSpotDTO.setOwner("Jade");
 
         // When
-        Mockito.when(parkingSpotService.existsBySpotNumber(parkingSpotDTO.getSpotNumber())).thenReturn(true);
+        Mockito.when(parkingSpotService.save(any(ParkingSpotModel.class)))
+               .thenThrow(new ConflictException("Conflict: Parking Spot is already in use!", null));
 
         // Then
         mockMvc.perform(post("/parking-spot")
@@ -97,8 +131,9 @@ class ParkingSpotControllerTest {
         parkingSpotDTO.setOwner("Jade");
 
         // When
-        Mockito.when(parkingSpotService.existsByApartmentAndBlock(parkingSpotDTO.getApartment(), parkingSpotDTO.getBlock()))
-               .thenReturn(true);
+        Mockito.when(parkingSpotService.save(any(ParkingSpotModel.class)))
+               .thenThrow(new ConflictException(
+                       "Conflict: Parking Spot is already registered for this apartment and block!", null));
 
         // Then
         mockMvc.perform(post("/parking-spot")
@@ -141,6 +176,32 @@ class ParkingSpotControllerTest {
                .andExpect(jsonPath("car.id", is("3e01ec1b-85c1-4892-bf11-c02eca5b198c")));
     }
 
+    @Test
+    void shouldFailSavingParkingSpotAndCarWhenSpotNumberAlreadyInUse() throws Exception {
+        // Given
+        CarModel carModel = new CarModel();
+        UUID carId = UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c");
+        carModel.setId(carId);
+
+        ParkingSpotDTO parkingSpotDTO = new ParkingSpotDTO();
+        parkingSpotDTO.setSpotNumber("701-A");
+        parkingSpotDTO.setApartment("701");
+        parkingSpotDTO.setBlock("I");
+        parkingSpotDTO.setOwner("Jade");
+
+        // When
+        Mockito.when(carService.findById(carId)).thenReturn(Optional.of(carModel));
+        Mockito.when(parkingSpotService.save(any(ParkingSpotModel.class)))
+               .thenThrow(new ConflictException("Conflict: Parking Spot is already in use!", null));
+
+        // Then
+        mockMvc.perform(post("/parking-spot/car/" + carId)
+                                .contentType("application/json")
+                                .content(objectMapper.writeValueAsString(parkingSpotDTO)))
+               .andExpect(status().isConflict())
+               .andExpect(content().string("Conflict: Parking Spot is already in use!"));
+    }
+
     @Test
     void shouldFailSavingParkingSpotAndCarWhenCarNotFound() throws Exception {
         // Given
@@ -162,30 +223,226 @@ class ParkingSpotControllerTest {
                .andExpect(content().string("Car not found."));
     }
 
+    @Test
+    void shouldAllocateFreeParkingSpot() throws Exception {
+        // Given
+        UUID carId = UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c");
+        ParkingSpotModel parkingSpot = new ParkingSpotModel();
+        parkingSpot.setId(UUID.fromString("0a96e04e-b60f-4b69-9524-e221cf341ccb"));
+        parkingSpot.setSpotNumber("701-A");
+
+        // When
+        Mockito.when(carService.findById(carId)).thenReturn(Optional.of(new CarModel()));
+        Mockito.when(occupancyIndex.hasBlock("A")).thenReturn(true);
+        Mockito.when(spotAllocator.allocate("A", carId)).thenReturn(Optional.of(parkingSpot));
+
+        // Then
+        mockMvc.perform(post("/parking-spot/allocate").param("carId", carId.toString()).param("block", "A"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.spotNumber", is("701-A")));
+    }
+
+    @Test
+    void shouldFailAllocatingWhenBlockIsFull() throws Exception {
+        // Given
+        UUID carId = UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c");
+
+        // When
+        Mockito.when(carService.findById(carId)).thenReturn(Optional.of(new CarModel()));
+        Mockito.when(occupancyIndex.hasBlock("A")).thenReturn(true);
+        Mockito.when(spotAllocator.allocate("A", carId)).thenReturn(Optional.empty());
+
+        // Then
+        mockMvc.perform(post("/parking-spot/allocate").param("carId", carId.toString()).param("block", "A"))
+               .andExpect(status().isConflict())
+               .andExpect(content().string("Conflict: No free Parking Spot in this block!"));
+    }
+
+    @Test
+    void shouldFailAllocatingWhenCarIsAlreadyParked() throws Exception {
+        // Given
+        UUID carId = UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c");
+        CarModel carModel = new CarModel();
+        carModel.setParkingSpot(new ParkingSpotModel());
+
+        // When
+        Mockito.when(carService.findById(carId)).thenReturn(Optional.of(carModel));
+
+        // Then
+        mockMvc.perform(post("/parking-spot/allocate").param("carId", carId.toString()).param("block", "A"))
+               .andExpect(status().isConflict())
+               .andExpect(content().string("Conflict: Car already has a Parking Spot!"));
+
+        verify(spotAllocator, times(0)).allocate(any(), any());
+    }
+
+    @Test
+    void shouldFailAllocatingWhenBlockNotFound() throws Exception {
+        // Given
+        UUID carId = UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c");
+
+        // When
+        Mockito.when(carService.findById(carId)).thenReturn(Optional.of(new CarModel()));
+        Mockito.when(occupancyIndex.hasBlock("Z")).thenReturn(false);
+
+        // Then
+        mockMvc.perform(post("/parking-spot/allocate").param("carId", carId.toString()).param("block", "Z"))
+               .andExpect(status().isNotFound())
+               .andExpect(content().string("Block not found."));
+    }
+
     @Test
     void shouldGetAllParkingSpots() throws Exception {
         mockMvc.perform(get("/parking-spot")).andExpect(status().isOk());
     }
 
     @Test
-    void shouldFindParkingSpotById() throws Exception {
+    void shouldGetPageOfParkingSpots() throws Exception {
         // Given
+        ParkingSpotView parkingSpot = newParkingSpotView();
+
+        // When
+        Mockito.when(parkingSpotService.findPage(null, 1))
+               .thenReturn(new CursorPageDTO<>(List.of(parkingSpot), null));
+
+        // Then
+        mockMvc.perform(get("/parking-spot?limit=1"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.content[0].id", is("0a96e04e-b60f-4b69-9524-e221cf341ccb")))
+               .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    void shouldFailGetAllWhenLimitOutOfRange() throws Exception {
+        mockMvc.perform(get("/parking-spot?limit=0"))
+               .andExpect(status().isBadRequest())
+               .andExpect(content().string("Invalid limit: must be between 1 and 100."));
+    }
+
+    @Test
+    void shouldFailGetAllWhenCursorIsInvalid() throws Exception {
+        // When
+        Mockito.when(parkingSpotService.findPage("invalid", 20)).thenThrow(new IllegalArgumentException());
+
+        // Then
+        mockMvc.perform(get("/parking-spot?next=invalid"))
+               .andExpect(status().isBadRequest())
+               .andExpect(content().string("Invalid cursor."));
+    }
+
+    @Test
+    void shouldExportParkingSpotsAsNdjson() throws Exception {
+        // Given
+        CarModel carModel = new CarModel();
+        carModel.setId(UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c"));
+
         ParkingSpotModel parkingSpot = new ParkingSpotModel();
         parkingSpot.setId(UUID.fromString("0a96e04e-b60f-4b69-9524-e221cf341ccb"));
+        parkingSpot.setCar(carModel);
+
+        // When
+        Mockito.doAnswer(invocation -> {
+            Consumer<ParkingSpotModel> consumer = invocation.getArgument(0);
+            consumer.accept(parkingSpot);
+            return null;
+        }).when(parkingSpotService).exportAll(any());
+
+        MvcResult mvcResult = mockMvc.perform(get("/parking-spot/export"))
+                                     .andExpect(request().asyncStarted())
+                                     .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(mvcResult))
+               .andExpect(status().isOk())
+               .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+               .andExpect(content().string(objectMapper.writeValueAsString(parkingSpot) + "\n"));
+    }
+
+    @Test
+    void shouldReturnOccupancyOfAllBlocks() throws Exception {
+        // Given
+        OccupancyDTO occupancy = new OccupancyDTO(List.of(
+                new BlockOccupancyDTO("A", 2, 1, List.of("702-A")),
+                new BlockOccupancyDTO("B", 1, 0, List.of("801-B"))));
 
         // When
-        Mockito.when(parkingSpotService.findById(UUID.fromString("0a96e04e-b60f-4b69-9524-e221cf341ccb"))).thenReturn(
-                Optional.of(parkingSpot));
+        Mockito.when(occupancyIndex.snapshot()).thenReturn(occupancy);
 
         // Then
-        mockMvc.perform(get("/parking-spot/0a96e04e-b60f-4b69-9524-e221cf341ccb")).andExpect(status().isOk());
+        mockMvc.perform(get("/parking-spot/occupancy"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.total", is(3)))
+               .andExpect(jsonPath("$.free", is(2)))
+               .andExpect(jsonPath("$.blocks[0].freeSpots[0]", is("702-A")));
+    }
+
+    @Test
+    void shouldFailWhenBlockNotFound() throws Exception {
+        // When
+        Mockito.when(occupancyIndex.snapshot("Z")).thenReturn(Optional.empty());
+
+        // Then
+        mockMvc.perform(get("/parking-spot/occupancy").param("block", "Z"))
+               .andExpect(status().isNotFound())
+               .andExpect(content().string("Block not found."));
+    }
+
+    @Test
+    void shouldSearchOwnersByPrefix() throws Exception {
+        // Given
+        CarView.ParkingSpotSummary parkingSpot = new CarView.ParkingSpotSummary(
+                UUID.fromString("0a96e04e-b60f-4b69-9524-e221cf341ccb"), "701-A",
+                LocalDateTime.parse("2022-09-03T10:15:30"), "Jade", "701", "A");
+
+        // When
+        Mockito.when(ownerIndex.findByOwnerPrefix("ja", 20)).thenReturn(List.of(parkingSpot));
+
+        // Then
+        mockMvc.perform(get("/parking-spot/owners").param("prefix", "ja"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$[0].owner", is("Jade")))
+               .andExpect(jsonPath("$[0].spotNumber", is("701-A")));
+    }
+
+    @Test
+    void shouldSearchEverySpotOfAnOwner() throws Exception {
+        // When
+        Mockito.when(ownerIndex.findByOwner("Jade", 100)).thenReturn(List.of());
+
+        // Then
+        mockMvc.perform(get("/parking-spot/owners").param("name", "Jade").param("limit", "100"))
+               .andExpect(status().isOk())
+               .andExpect(content().json("[]"));
+    }
+
+    @Test
+    void shouldRejectOwnerSearchLimitOutOfRange() throws Exception {
+        mockMvc.perform(get("/parking-spot/owners").param("prefix", "ja").param("limit", "101"))
+               .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void shouldFindParkingSpotById() throws Exception {
+        // Given
+        ParkingSpotView parkingSpot = newParkingSpotView();
+
+        // When
+        Mockito.when(parkingSpotService.findViewById(UUID.fromString("0a96e04e-b60f-4b69-9524-e221cf341ccb")))
+               .thenReturn(Optional.of(parkingSpot));
+
+        // Then
+        mockMvc.perform(get("/parking-spot/0a96e04e-b60f-4b69-9524-e221cf341ccb"))
+               .andExpect(status().isOk())
+               .andExpect(jsonPath("$.spotNumber", is("701-A")))
+               .andExpect(jsonPath("$.registrationDate", is("2022-09-03T10:15:30")))
+               .andExpect(jsonPath("$.car.licensePlate", is("GPK-6219")));
     }
 
     @Test
     void shouldFailWhenParkingSpotNotFoundById() throws Exception {
         // When
-        Mockito.when(parkingSpotService.findById(UUID.fromString("0a96e04e-b60f-4b69-9524-e221cf341ccb"))).thenReturn(
-                Optional.empty());
+        Mockito.when(parkingSpotService.findViewById(UUID.fromString("0a96e04e-b60f-4b69-9524-e221cf341ccb")))
+               .thenReturn(Optional.empty());
 
         // Then
         mockMvc.perform(get("/parking-spot/0a96e04e-b60f-4b69-9524-e221cf341ccb"))
@@ -196,8 +453,7 @@ class ParkingSpotControllerTest {
     @Test
     void shouldFindParkingSpotBySpotNumber() throws Exception {
         // Given
-        ParkingSpotModel parkingSpot = new ParkingSpotModel();
-        parkingSpot.setSpotNumber("701-A");
+        ParkingSpotView parkingSpot = newParkingSpotView();
 
         // When
         Mockito.when(parkingSpotService.findBySpotNumber("701-A")).thenReturn(Optional.of(parkingSpot));
@@ -220,8 +476,7 @@ class ParkingSpotControllerTest {
     @Test
     void shouldFindParkingSpotByApartment() throws Exception {
         // Given
-        ParkingSpotModel parkingSpot = new ParkingSpotModel();
-        parkingSpot.setApartment("701");
+        ParkingSpotView parkingSpot = newParkingSpotView();
 
         // When
         Mockito.when(parkingSpotService.findByApartment("701")).thenReturn(Optional.of(parkingSpot));
@@ -244,8 +499,7 @@ class ParkingSpotControllerTest {
     @Test
     void shouldFindParkingSpotByOwner() throws Exception {
         // Given
-        ParkingSpotModel parkingSpot = new ParkingSpotModel();
-        parkingSpot.setOwner("Jade");
+        ParkingSpotView parkingSpot = newParkingSpotView();
 
         // When
         Mockito.when(parkingSpotService.findByOwner("Jade")).thenReturn(Optional.of(parkingSpot));
@@ -305,6 +559,162 @@ class ParkingSpotControllerTest {
                .andExpect(content().string(objectMapper.writeValueAsString(parkingSpot)));
     }
 
+    @Test
+    void shouldUpdateParkedCarInPlace() throws Exception {
+        // Given
+        CarModel carModel = new CarModel();
+        carModel.setId(UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c"));
+        carModel.setLicensePlate("GPK-6219");
+        carModel.setBrand("Audi");
+        carModel.setModel("A1");
+        carModel.setColor("Silver");
+
+        ParkingSpotModel parkingSpot = new ParkingSpotModel();
+        parkingSpot.setId(UUID.fromString("0a96e04e-b60f-4b69-9524-e221cf341ccb"));
+        parkingSpot.setRegistrationDate(LocalDateTime.parse("2022-09-03T10:15:30"));
+        parkingSpot.setCar(carModel);
+
+        CarDTO carDTO = new CarDTO();
+        carDTO.setBrand("Audi");
+        carDTO.setModel("A1");
+        carDTO.setColor("Black");
+        carDTO.setLicensePlate("GPK-6219");
+
+        ParkingSpotDTO parkingSpotDTO = new ParkingSpotDTO();
+        parkingSpotDTO.setSpotNumber("702-A");
+        parkingSpotDTO.setApartment("701");
+        parkingSpotDTO.setBlock("I");
+        parkingSpotDTO.setOwner("Jade");
+        parkingSpotDTO.setCar(carDTO);
+
+        // When
+        Mockito.when(parkingSpotService.findById(parkingSpot.getId())).thenReturn(Optional.of(parkingSpot));
+        Mockito.when(parkingSpotService.save(parkingSpot)).thenReturn(parkingSpot);
+
+        mockMvc.perform(put("/parking-spot/update/0a96e04e-b60f-4b69-9524-e221cf341ccb")
+                                .contentType("application/json")
+                                .content(objectMapper.writeValueAsString(parkingSpotDTO)))
+               .andExpect(status().isOk());
+
+        // Then
+        assertThat(parkingSpot.getSpotNumber()).isEqualTo("702-A");
+        assertThat(parkingSpot.getRegistrationDate()).isEqualTo(LocalDateTime.parse("2022-09-03T10:15:30"));
+        assertThat(parkingSpot.getCar()).isSameAs(carModel);
+        assertThat(carModel.getId()).isEqualTo(UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c"));
+        assertThat(carModel.getColor()).isEqualTo("Black");
+    }
+
+    @Test
+    void shouldUpdateParkingSpotWhenIfMatchHoldsCurrentVersion() throws Exception {
+        // Given
+        ParkingSpotModel parkingSpot = new ParkingSpotModel();
+        parkingSpot.setId(UUID.fromString("0a96e04e-b60f-4b69-9524-e221cf341ccb"));
+        parkingSpot.setVersion(3);
+
+        ParkingSpotModel savedParkingSpot = new ParkingSpotModel();
+        savedParkingSpot.setId(parkingSpot.getId());
+        savedParkingSpot.setVersion(4);
+
+        // When
+        Mockito.when(parkingSpotService.findById(parkingSpot.getId())).thenReturn(Optional.of(parkingSpot));
+        Mockito.when(parkingSpotService.save(parkingSpot)).thenReturn(savedParkingSpot);
+
+        // Then
+        mockMvc.perform(put("/parking-spot/update/0a96e04e-b60f-4b69-9524-e221cf341ccb")
+                                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                                .contentType("application/json")
+                                .content(objectMapper.writeValueAsString(newParkingSpotDTO())))
+               .andExpect(status().isOk())
+               .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+               .andExpect(jsonPath("$.version", is(4)));
+    }
+
+    @Test
+    void shouldUpdateParkingSpotWhenIfMatchHoldsTagOfPreviousRead() throws Exception {
+        // Given
+        ParkingSpotView parkingSpotView = new ParkingSpotView(UUID.fromString("0a96e04e-b60f-4b69-9524-e221cf341ccb"),
+                                                              "701-A", LocalDateTime.parse("2022-09-03T10:15:30"),
+                                                              "Jade", "701", "A", 3,
+                                                              UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c"),
+                                                              "GPK-6219", "Audi", "A1", "Silver", 7L);
+
+        ParkingSpotModel parkingSpot = new ParkingSpotModel();
+        parkingSpot.setId(parkingSpotView.getId());
+        parkingSpot.setVersion(3);
+
+        ParkingSpotModel savedParkingSpot = new ParkingSpotModel();
+        savedParkingSpot.setId(parkingSpot.getId());
+        savedParkingSpot.setVersion(4);
+
+        // When
+        Mockito.when(parkingSpotService.findViewById(parkingSpot.getId())).thenReturn(Optional.of(parkingSpotView));
+        Mockito.when(parkingSpotService.findById(parkingSpot.getId())).thenReturn(Optional.of(parkingSpot));
+        Mockito.when(parkingSpotService.save(parkingSpot)).thenReturn(savedParkingSpot);
+
+        // Then
+        String etag = mockMvc.perform(get("/parking-spot/0a96e04e-b60f-4b69-9524-e221cf341ccb"))
+                             .andExpect(status().isOk())
+                             .andExpect(jsonPath("$.version", is(3)))
+                             .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(put("/parking-spot/update/0a96e04e-b60f-4b69-9524-e221cf341ccb")
+                                .header(HttpHeaders.IF_MATCH, etag)
+                                .contentType("application/json")
+                                .content(objectMapper.writeValueAsString(newParkingSpotDTO())))
+               .andExpect(status().isOk())
+               .andExpect(header().string(HttpHeaders.ETAG, "\"4\""));
+    }
+
+    @Test
+    void shouldFailUpdateWhenIfMatchHoldsStaleVersion() throws Exception {
+        // Given
+        ParkingSpotModel parkingSpot = new ParkingSpotModel();
+        parkingSpot.setId(UUID.fromString("0a96e04e-b60f-4b69-9524-e221cf341ccb"));
+        parkingSpot.setVersion(4);
+
+        // When
+        Mockito.when(parkingSpotService.findById(parkingSpot.getId())).thenReturn(Optional.of(parkingSpot));
+
+        // Then
+        mockMvc.perform(put("/parking-spot/update/0a96e04e-b60f-4b69-9524-e221cf341ccb")
+                                .header(HttpHeaders.IF_MATCH, "\"3\"")
+                                .contentType("application/json")
+                                .content(objectMapper.writeValueAsString(newParkingSpotDTO())))
+               .andExpect(status().isPreconditionFailed())
+               .andExpect(header().string(HttpHeaders.ETAG, "\"4\""))
+               .andExpect(content().string("Parking spot was modified since it was read."));
+
+        verify(parkingSpotService, times(0)).save(any());
+    }
+
+    @Test
+    void shouldFailUpdateThatLostARaceWithoutRetrying() throws Exception {
+        // Given
+        ParkingSpotModel parkingSpot = new ParkingSpotModel();
+        parkingSpot.setId(UUID.fromString("0a96e04e-b60f-4b69-9524-e221cf341ccb"));
+
+        // When
+        Mockito.when(parkingSpotService.findById(parkingSpot.getId())).thenReturn(Optional.of(parkingSpot));
+        Mockito.when(parkingSpotService.save(parkingSpot))
+               .thenThrow(new ObjectOptimisticLockingFailureException(ParkingSpotModel.class, parkingSpot.getId()));
+
+        // Then
+        mockMvc.perform(put("/parking-spot/update/0a96e04e-b60f-4b69-9524-e221cf341ccb")
+                                .contentType("application/json")
+                                .content(objectMapper.writeValueAsString(newParkingSpotDTO())))
+               .andExpect(status().isConflict())
+               .andExpect(content().string("Conflict: Parking Spot is being updated concurrently!"));
+
+        mockMvc.perform(put("/parking-spot/update/0a96e04e-b60f-4b69-9524-e221cf341ccb")
+                                .header(HttpHeaders.IF_MATCH, "\"0\"")
+                                .contentType("application/json")
+                                .content(objectMapper.writeValueAsString(newParkingSpotDTO())))
+               .andExpect(status().isPreconditionFailed())
+               .andExpect(content().string("Parking spot was modified since it was read."));
+
+        verify(parkingSpotService, times(2)).save(parkingSpot);
+    }
+
     @Test
     void shouldFailUpdateWhenInvalidParkingSpotDTOSubmitted() throws Exception {
         // Given
@@ -367,4 +777,21 @@ class ParkingSpotControllerTest {
                .andExpect(status().isNotFound())
                .andExpect(content().string("Parking spot not found."));
     }
-}
\ No newline at end of file
+
+    private static ParkingSpotView newParkingSpotView() {
+        return new ParkingSpotView(UUID.fromString("0a96e04e-b60f-4b69-9524-e221cf341ccb"), "701-A",
+                                   LocalDateTime.parse("2022-09-03T10:15:30"), "Jade", "701", "A", 0,
+                                   UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c"), "GPK-6219", "Audi", "A1",
+                                   "Silver", 0L);
+    }
+
+    private static ParkingSpotDTO newParkingSpotDTO() {
+        ParkingSpotDTO parkingSpotDTO = new ParkingSpotDTO();
+        parkingSpotDTO.setSpotNumber("701-A");
+        parkingSpotDTO.setApartment("701");
+        parkingSpotDTO.setBlock("I");
+        parkingSpotDTO.setOwner("Jade");
+
+        return parkingSpotDTO;
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.parkingcontrol.handlers;
+
+import com.example.parkingcontrol.configs.DateConfig;
+import com.example.parkingcontrol.configs.ReactiveReadConfig;
+import com.example.parkingcontrol.projections.CarView;
+import com.example.parkingcontrol.repositories.ReactiveCarRepository;
+import com.example.parkingcontrol.repositories.ReactiveParkingSpotRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CarHandlerTest {
+    private ReactiveCarRepository carRepository;
+
+    private WebTestClient webTestClient;
+
+    @BeforeEach
+    void setUp() {
+        carRepository = Mockito.mock(ReactiveCarRepository.class);
+        webTestClient = WebTestClient.bindToRouterFunction(ReactiveReadConfig.routes(
+                new CarHandler(carRepository),
+                new ParkingSpotHandler(Mockito.mock(ReactiveParkingSpotRepository.class))))
+                                     .handlerStrategies(ReactiveReadConfig.strategies(
+                                             DateConfig.configure(new ObjectMapper())))
+                                     .build();
+    }
+
+    @Test
+    void shouldFindCarById() {
+        // Given
+        UUID id = UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c");
+        CarView carView = new CarView(id, "GPK-6219", "Audi", "A1", "Silver", 0,
+                                      UUID.fromString("0a96e04e-b60f-4b69-9524-e221cf341ccb"), "701-A",
+                                      LocalDateTime.parse("2022-09-03T10:15:30"), "Jade", "701", "A", 0L);
+
+        // When
+        Mockito.when(carRepository.findViewById(id)).thenReturn(Mono.just(carView));
+
+        // Then
+        webTestClient.get().uri("/cars/3e01ec1b-85c1-4892-bf11-c02eca5b198c")
+                     .exchange()
+                     .expectStatus().isOk()
+                     .expectBody()
+                     .jsonPath("$.licensePlate").isEqualTo("GPK-6219")
+                     .jsonPath("$.parkingSpot.spotNumber").isEqualTo("701-A");
+    }
+
+    @Test
+    void shouldAnswerUnchangedReadWithNotModified() {
+        // Given
+        UUID id = UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c");
+        CarView carView = new CarView(id, "GPK-6219", "Audi", "A1", "Silver", 3, null, null);
+
+        // When
+        Mockito.when(carRepository.findViewById(id)).thenReturn(Mono.just(carView));
+
+        // Then
+        webTestClient.get().uri("/cars/3e01ec1b-85c1-4892-bf11-c02eca5b198c")
+                     .header(HttpHeaders.IF_NONE_MATCH, "\"3\"")
+                     .exchange()
+                     .expectStatus().isNotModified()
+                     .expectHeader().valueEquals(HttpHeaders.ETAG, "\"3\"")
+                     .expectBody().isEmpty();
+    }
+
+    @Test
+    void shouldWriteSmileAndCborWhenAccepted() throws IOException {
+        // Given
+        UUID id = UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c");
+        CarView carView = new CarView(id, "GPK-6219", "Audi", "A1", "Silver", 0, null, null);
+        MediaType smile = MediaType.parseMediaType("application/x-jackson-smile");
+
+        // When
+        Mockito.when(carRepository.findViewById(id)).thenReturn(Mono.just(carView));
+
+        // Then
+        byte[] smileBody = webTestClient.get().uri("/cars/3e01ec1b-85c1-4892-bf11-c02eca5b198c")
+                                        .accept(smile)
+                                        .exchange()
+                                        .expectStatus().isOk()
+                                        .expectHeader().contentType(smile)
+                                        .expectBody(byte[].class).returnResult().getResponseBody();
+        assertThat(new SmileMapper().readTree(smileBody).get("licensePlate").asText()).isEqualTo("GPK-6219");
+
+        byte[] cborBody = webTestClient.get().uri("/cars/3e01ec1b-85c1-4892-bf11-c02eca5b198c")
+                                       .accept(MediaType.APPLICATION_CBOR)
+                                       .exchange()
+                                       .expectStatus().isOk()
+                                       .expectHeader().contentType(MediaType.APPLICATION_CBOR)
+                                       .expectBody(byte[].class).returnResult().getResponseBody();
+        assertThat(new CBORMapper().readTree(cborBody).get("licensePlate").asText()).isEqualTo("GPK-6219");
+    }
+
+    @Test
+    void shouldFailWhenCarIdIsMalformed() {
+        webTestClient.get().uri("/cars/not-a-uuid").exchange().expectStatus().isBadRequest();
+    }
+
+    @Test
+    void shouldFindCarByLicensePlate() {
+        // Given
+        CarView carView = new CarView(UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c"), "GPK-6219", "Audi", "A1",
+                                      "Silver", 0, null, null);
+
+        // When
+        Mockito.when(carRepository.findViewByLicensePlate("GPK-6219")).thenReturn(Mono.just(carView));
+
+        // Then
+        webTestClient.get().uri("/cars/license-plate?number=GPK-6219")
+                     .exchange()
+                     .expectStatus().isOk()
+                     .expectBody()
+                     .jsonPath("$.id").isEqualTo("3e01ec1b-85c1-4892-bf11-c02eca5b198c")
+                     .jsonPath("$.parkingSpot").isEmpty();
+    }
+
+    @Test
+    void shouldFailWhenCarNotFoundByLicensePlate() {
+        // When
+        Mockito.when(carRepository.findViewByLicensePlate("GPK-6219")).thenReturn(Mono.empty());
+
+        // Then
+        webTestClient.get().uri("/cars/license-plate?number=GPK-6219")
+                     .exchange()
+                     .expectStatus().isNotFound()
+                     .expectBody(String.class).isEqualTo("Car not found.");
+    }
+}
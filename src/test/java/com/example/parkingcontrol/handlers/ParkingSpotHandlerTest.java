@@ -0,0 +1,91 @@
+package com.example.parkingcontrol.handlers;
+
+import com.example.parkingcontrol.configs.ReactiveReadConfig;
+import com.example.parkingcontrol.projections.ParkingSpotView;
+import com.example.parkingcontrol.repositories.ReactiveCarRepository;
+import com.example.parkingcontrol.repositories.ReactiveParkingSpotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+class ParkingSpotHandlerTest {
+    private ReactiveParkingSpotRepository parkingSpotRepository;
+
+    private WebTestClient webTestClient;
+
+    private ParkingSpotView parkingSpotView;
+
+    @BeforeEach
+    void setUp() {
+        parkingSpotRepository = Mockito.mock(ReactiveParkingSpotRepository.class);
+        webTestClient = WebTestClient.bindToRouterFunction(ReactiveReadConfig.routes(
+                new CarHandler(Mockito.mock(ReactiveCarRepository.class)),
+                new ParkingSpotHandler(parkingSpotRepository))).build();
+
+        parkingSpotView = new ParkingSpotView(UUID.fromString("0a96e04e-b60f-4b69-9524-e221cf341ccb"), "701-A",
+                                              LocalDateTime.parse("2022-09-03T10:15:30"), "Jade", "701", "A", 0,
+                                              UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c"), "GPK-6219",
+                                              "Audi", "A1", "Silver", 0L);
+    }
+
+    @Test
+    void shouldFindParkingSpotById() {
+        // When
+        Mockito.when(parkingSpotRepository.findViewById(parkingSpotView.getId())).thenReturn(Mono.just(parkingSpotView));
+
+        // Then
+        webTestClient.get().uri("/parking-spot/0a96e04e-b60f-4b69-9524-e221cf341ccb")
+                     .exchange()
+                     .expectStatus().isOk()
+                     .expectBody()
+                     .jsonPath("$.spotNumber").isEqualTo("701-A")
+                     .jsonPath("$.car.licensePlate").isEqualTo("GPK-6219");
+    }
+
+    @Test
+    void shouldFindParkingSpotBySpotNumber() {
+        // When
+        Mockito.when(parkingSpotRepository.findViewBySpotNumber("701-A")).thenReturn(Mono.just(parkingSpotView));
+
+        // Then
+        webTestClient.get().uri("/parking-spot/spot-number?spot=701-A")
+                     .exchange()
+                     .expectStatus().isOk()
+                     .expectBody().jsonPath("$.id").isEqualTo("0a96e04e-b60f-4b69-9524-e221cf341ccb");
+    }
+
+    @Test
+    void shouldFindParkingSpotByApartment() {
+        // When
+        Mockito.when(parkingSpotRepository.findViewByApartment("701")).thenReturn(Mono.just(parkingSpotView));
+
+        // Then
+        webTestClient.get().uri("/parking-spot/apartment?number=701").exchange().expectStatus().isOk();
+    }
+
+    @Test
+    void shouldFindParkingSpotByOwner() {
+        // When
+        Mockito.when(parkingSpotRepository.findViewByOwner("Jade")).thenReturn(Mono.just(parkingSpotView));
+
+        // Then
+        webTestClient.get().uri("/parking-spot/owner?name=Jade").exchange().expectStatus().isOk();
+    }
+
+    @Test
+    void shouldFailWhenParkingSpotNotFoundBySpotNumber() {
+        // When
+        Mockito.when(parkingSpotRepository.findViewBySpotNumber("701")).thenReturn(Mono.empty());
+
+        // Then
+        webTestClient.get().uri("/parking-spot/spot-number?spot=701")
+                     .exchange()
+                     .expectStatus().isNotFound()
+                     .expectBody(String.class).isEqualTo("Parking spot not found.");
+    }
+}
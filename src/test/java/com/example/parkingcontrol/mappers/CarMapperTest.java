@@ -0,0 +1,61 @@
+package com.example.parkingcontrol.mappers;
+
+import com.example.parkingcontrol.dtos.CarDTO;
+import com.example.parkingcontrol.models.CarModel;
+import com.example.parkingcontrol.models.ParkingSpotModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CarMapperTest {
+    private CarMapper underTest;
+
+    private CarDTO carDTO;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new CarMapperImpl();
+
+        carDTO = new CarDTO();
+        carDTO.setLicensePlate("ABC-1234");
+        carDTO.setBrand("Toyota");
+        carDTO.setModel("Etios");
+        carDTO.setColor("Silver");
+    }
+
+    @Test
+    void shouldMapDTOToNewModel() {
+        // When
+        CarModel carModel = underTest.toModel(carDTO);
+
+        // Then
+        assertThat(carModel.getId()).isNull();
+        assertThat(carModel.getParkingSpot()).isNull();
+        assertThat(carModel.getVersion()).isZero();
+        assertThat(carModel).usingRecursiveComparison().ignoringFields("id", "parkingSpot", "version",
+                                                                       "storedLicensePlate")
+                            .isEqualTo(carDTO);
+    }
+
+    @Test
+    void shouldUpdateModelKeepingIdAndParkingSpot() {
+        // Given
+        ParkingSpotModel parkingSpot = new ParkingSpotModel();
+        CarModel carModel = new CarModel();
+        carModel.setId(UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c"));
+        carModel.setLicensePlate("XYZ-9876");
+        carModel.setParkingSpot(parkingSpot);
+
+        // When
+        underTest.updateModel(carDTO, carModel);
+
+        // Then
+        assertThat(carModel.getId()).isEqualTo(UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c"));
+        assertThat(carModel.getParkingSpot()).isSameAs(parkingSpot);
+        assertThat(carModel.getLicensePlate()).isEqualTo("ABC-1234");
+        assertThat(carModel.getColor()).isEqualTo("Silver");
+    }
+}
@@ -0,0 +1,106 @@
+package com.example.parkingcontrol.mappers;
+
+import com.example.parkingcontrol.dtos.CarDTO;
+import com.example.parkingcontrol.dtos.ParkingSpotDTO;
+import com.example.parkingcontrol.models.CarModel;
+import com.example.parkingcontrol.models.ParkingSpotModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ParkingSpotMapperTest {
+    private ParkingSpotMapper underTest;
+
+    private ParkingSpotDTO parkingSpotDTO;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new ParkingSpotMapperImpl(new CarMapperImpl());
+
+        CarDTO carDTO = new CarDTO();
+        carDTO.setLicensePlate("ABC-1234");
+        carDTO.setBrand("Toyota");
+        carDTO.setModel("Etios");
+        carDTO.setColor("Silver");
+
+        parkingSpotDTO = new ParkingSpotDTO();
+        parkingSpotDTO.setSpotNumber("701-A");
+        parkingSpotDTO.setOwner("Jade");
+        parkingSpotDTO.setApartment("701");
+        parkingSpotDTO.setBlock("I");
+        parkingSpotDTO.setCar(carDTO);
+    }
+
+    @Test
+    void shouldMapDTOToNewModelWithoutCar() {
+        // When
+        ParkingSpotModel parkingSpot = underTest.toModel(parkingSpotDTO);
+
+        // Then
+        assertThat(parkingSpot.getId()).isNull();
+        assertThat(parkingSpot.getRegistrationDate()).isNull();
+        assertThat(parkingSpot.getCar()).isNull();
+        assertThat(parkingSpot.getSpotNumber()).isEqualTo("701-A");
+        assertThat(parkingSpot.getOwner()).isEqualTo("Jade");
+        assertThat(parkingSpot.getApartment()).isEqualTo("701");
+        assertThat(parkingSpot.getBlock()).isEqualTo("I");
+    }
+
+    @Test
+    void shouldUpdateModelAndParkedCarInPlace() {
+        // Given
+        CarModel carModel = new CarModel();
+        carModel.setId(UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c"));
+
+        ParkingSpotModel parkingSpot = new ParkingSpotModel();
+        parkingSpot.setId(UUID.fromString("0a96e04e-b60f-4b69-9524-e221cf341ccb"));
+        parkingSpot.setRegistrationDate(LocalDateTime.parse("2022-09-03T10:15:30"));
+        parkingSpot.setCar(carModel);
+
+        // When
+        underTest.updateModel(parkingSpotDTO, parkingSpot);
+
+        // Then
+        assertThat(parkingSpot.getId()).isEqualTo(UUID.fromString("0a96e04e-b60f-4b69-9524-e221cf341ccb"));
+        assertThat(parkingSpot.getRegistrationDate()).isEqualTo(LocalDateTime.parse("2022-09-03T10:15:30"));
+        assertThat(parkingSpot.getSpotNumber()).isEqualTo("701-A");
+        assertThat(parkingSpot.getCar()).isSameAs(carModel);
+        assertThat(carModel.getId()).isEqualTo(UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c"));
+        assertThat(carModel.getLicensePlate()).isEqualTo("ABC-1234");
+    }
+
+    @Test
+    void shouldCreateCarWhenParkingSpotHadNone() {
+        // Given
+        ParkingSpotModel parkingSpot = new ParkingSpotModel();
+
+        // When
+        underTest.updateModel(parkingSpotDTO, parkingSpot);
+
+        // Then
+        assertThat(parkingSpot.getCar().getLicensePlate()).isEqualTo("ABC-1234");
+        assertThat(parkingSpot.getCar().getParkingSpot()).isSameAs(parkingSpot);
+    }
+
+    @Test
+    void shouldKeepParkedCarWhenDTOHasNoCar() {
+        // Given
+        CarModel carModel = new CarModel();
+        carModel.setLicensePlate("XYZ-9876");
+
+        ParkingSpotModel parkingSpot = new ParkingSpotModel();
+        parkingSpot.setCar(carModel);
+        parkingSpotDTO.setCar(null);
+
+        // When
+        underTest.updateModel(parkingSpotDTO, parkingSpot);
+
+        // Then
+        assertThat(parkingSpot.getCar()).isSameAs(carModel);
+        assertThat(carModel.getLicensePlate()).isEqualTo("XYZ-9876");
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.parkingcontrol.models;
+
+import java.time.LocalDateTime;
+
+/**
+ * Valid, unsaved models for tests that persist them.
+ */
+public final class ModelFixtures {
+    private ModelFixtures() {
+    }
+
+    public static CarModel newCar(String licensePlate) {
+        CarModel carModel = new CarModel();
+        carModel.setLicensePlate(licensePlate);
+        carModel.setBrand("Toyota");
+        carModel.setModel("Etios");
+        carModel.setColor("Silver");
+
+        return carModel;
+    }
+
+    public static ParkingSpotModel newParkingSpot(String spotNumber, String apartment, String block) {
+        ParkingSpotModel parkingSpot = new ParkingSpotModel();
+        parkingSpot.setSpotNumber(spotNumber);
+        parkingSpot.setApartment(apartment);
+        parkingSpot.setBlock(block);
+        parkingSpot.setOwner("Jade");
+        parkingSpot.setRegistrationDate(LocalDateTime.parse("2022-09-03T10:15:30"));
+
+        return parkingSpot;
+    }
+
+    /**
+     * A parking spot with a new car parked in it, saved along with the spot.
+     */
+    public static ParkingSpotModel newParkingSpot(String spotNumber, String apartment, String block,
+                                                  String licensePlate) {
+        ParkingSpotModel parkingSpot = newParkingSpot(spotNumber, apartment, block);
+        parkingSpot.setCar(newCar(licensePlate));
+
+        return parkingSpot;
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.parkingcontrol.models;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TimeOrderedUuidGeneratorTest {
+    @Test
+    void shouldGenerateVersion7Ids() {
+        // When
+        UUID id = TimeOrderedUuidGenerator.next();
+
+        // Then
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+        assertThat(id.getMostSignificantBits() >>> 16).isCloseTo(System.currentTimeMillis(), within(1000L));
+    }
+
+    @Test
+    void shouldGenerateStrictlyIncreasingIdsWithinTheSameMillisecond() {
+        // Given
+        List<String> ids = new ArrayList<>();
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(TimeOrderedUuidGenerator.next().toString());
+        }
+
+        // Then
+        assertThat(ids).isSorted().doesNotHaveDuplicates();
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.parkingcontrol.repositories;
+
+import com.example.parkingcontrol.events.CarChangedEvent;
+import com.example.parkingcontrol.events.ChangeType;
+import com.example.parkingcontrol.models.CarModel;
+import com.example.parkingcontrol.projections.CarView;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+
+import java.util.List;
+
+import static com.example.parkingcontrol.models.ModelFixtures.newParkingSpot;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@RecordApplicationEvents
+class CarRepositoryTest {
+    @Autowired
+    CarRepository underTest;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    @Autowired
+    ApplicationEvents applicationEvents;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= 5; i++) {
+            entityManager.persist(newParkingSpot("70" + i + "-A", "70" + i, "I", "ABC-123" + i));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class)
+                                  .getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void shouldLoadAllCarsWithTheirParkingSpotsInOneStatement() {
+        // When
+        List<CarModel> cars = underTest.findAll();
+
+        // Then
+        assertThat(cars).hasSize(5).allSatisfy(car -> assertThat(car.getParkingSpot()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldProjectPageOfCarsInOneStatementWithoutManagingEntities() {
+        // When
+        List<CarView> cars = underTest.findViewPage(PageRequest.of(0, 3)).getContent();
+
+        // Then
+        assertThat(cars).hasSize(3).allSatisfy(car -> assertThat(car.getParkingSpot()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void shouldProjectPageOfCarsAfterCursor() {
+        // Given
+        List<CarView> firstPage = underTest.findViewPage(PageRequest.of(0, 3)).getContent();
+
+        // When
+        List<CarView> nextPage = underTest.findViewPageAfter(firstPage.get(2).getId(), PageRequest.of(0, 3))
+                                          .getContent();
+
+        // Then
+        // The database orders UUIDs as unsigned bytes, which their canonical strings follow but UUID.compareTo does not
+        assertThat(nextPage).hasSize(2)
+                            .allSatisfy(car -> assertThat(car.getId().toString())
+                                    .isGreaterThan(firstPage.get(2).getId().toString()));
+    }
+
+    @Test
+    void shouldAssignIdsInInsertionOrder() {
+        // When
+        List<CarView> cars = underTest.findViewPage(PageRequest.of(0, 5)).getContent();
+
+        // Then
+        assertThat(cars).extracting(CarView::getLicensePlate)
+                        .containsExactly("ABC-1231", "ABC-1232", "ABC-1233", "ABC-1234", "ABC-1235");
+        assertThat(cars).allSatisfy(car -> assertThat(car.getId().version()).isEqualTo(7));
+    }
+
+    @Test
+    void shouldProjectCarByLicensePlateInOneStatementWithoutManagingEntities() {
+        // When
+        CarView car = underTest.findViewByLicensePlate("ABC-1231").orElseThrow();
+
+        // Then
+        assertThat(car.getParkingSpot().getSpotNumber()).isEqualTo("701-A");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void shouldProjectCarWithoutParkingSpot() {
+        // Given
+        CarModel carModel = new CarModel();
+        carModel.setLicensePlate("XYZ-9876");
+        carModel.setBrand("Audi");
+        carModel.setModel("A1");
+        carModel.setColor("Black");
+        entityManager.persistAndFlush(carModel);
+
+        // When
+        CarView car = underTest.findViewByLicensePlate("XYZ-9876").orElseThrow();
+
+        // Then
+        assertThat(car.getLicensePlate()).isEqualTo("XYZ-9876");
+        assertThat(car.getParkingSpot()).isNull();
+    }
+
+    @Test
+    void shouldPublishPreviousLicensePlateOnUpdate() {
+        // Given
+        CarModel carModel = underTest.findAll().stream()
+                                     .filter(car -> car.getLicensePlate().equals("ABC-1231"))
+                                     .findFirst()
+                                     .orElseThrow();
+
+        // When
+        carModel.setLicensePlate("NEW-1231");
+        entityManager.flush();
+
+        // Then
+        assertThat(applicationEvents.stream(CarChangedEvent.class)
+                                    .filter(event -> event.getType() == ChangeType.UPDATED))
+                .singleElement().satisfies(event -> {
+                    assertThat(event.getLicensePlate()).isEqualTo("NEW-1231");
+                    assertThat(event.getPreviousLicensePlate()).isEqualTo("ABC-1231");
+                    assertThat(event.getSpotNumber()).isEqualTo("701-A");
+                });
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.parkingcontrol.repositories;
+
+import com.example.parkingcontrol.models.ParkingSpotModel;
+import com.example.parkingcontrol.projections.ParkingSpotView;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.example.parkingcontrol.models.ModelFixtures.newParkingSpot;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class ParkingSpotRepositoryTest {
+    @Autowired
+    ParkingSpotRepository underTest;
+
+    @Autowired
+    TestEntityManager entityManager;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 1; i <= 5; i++) {
+            ParkingSpotModel parkingSpot = newParkingSpot("70" + i + "-A", "70" + i, "I", "ABC-123" + i);
+            parkingSpot.setRegistrationDate(parkingSpot.getRegistrationDate().plusMinutes(i));
+
+            entityManager.persist(parkingSpot);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory().unwrap(SessionFactory.class)
+                                  .getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void shouldLoadAllParkingSpotsWithTheirCarsInOneStatement() {
+        // When
+        List<ParkingSpotModel> parkingSpots = underTest.findAll();
+
+        // Then
+        assertThat(parkingSpots).hasSize(5).allSatisfy(parkingSpot -> assertThat(parkingSpot.getCar()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldProjectPageOfParkingSpotsInOneStatementWithoutManagingEntities() {
+        // When
+        List<ParkingSpotView> parkingSpots = underTest.findViewPage(PageRequest.of(0, 3)).getContent();
+
+        // Then
+        assertThat(parkingSpots).extracting(ParkingSpotView::getSpotNumber).containsExactly("701-A", "702-A", "703-A");
+        assertThat(parkingSpots).allSatisfy(parkingSpot -> assertThat(parkingSpot.getCar()).isNotNull());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void shouldProjectPageOfParkingSpotsAfterCursor() {
+        // Given
+        ParkingSpotView last = underTest.findViewPage(PageRequest.of(0, 3)).getContent().get(2);
+
+        // When
+        List<ParkingSpotView> parkingSpots = underTest.findViewPageAfter(last.getRegistrationDate(), last.getId(),
+                                                                         PageRequest.of(0, 3)).getContent();
+
+        // Then
+        assertThat(parkingSpots).extracting(ParkingSpotView::getSpotNumber).containsExactly("704-A", "705-A");
+    }
+
+    @Test
+    void shouldProjectParkingSpotBySpotNumberInOneStatementWithoutManagingEntities() {
+        // When
+        ParkingSpotView parkingSpot = underTest.findViewBySpotNumber("701-A").orElseThrow();
+
+        // Then
+        assertThat(parkingSpot.getCar().getLicensePlate()).isEqualTo("ABC-1231");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void shouldProjectParkingSpotByOwnerIgnoringCase() {
+        // Given
+        ParkingSpotModel parkingSpot = new ParkingSpotModel();
+        parkingSpot.setSpotNumber("801-B");
+        parkingSpot.setApartment("801");
+        parkingSpot.setBlock("II");
+        parkingSpot.setOwner("Jessica");
+        parkingSpot.setRegistrationDate(LocalDateTime.parse("2022-09-04T10:15:30"));
+        entityManager.persistAndFlush(parkingSpot);
+
+        // When
+        ParkingSpotView view = underTest.findViewByOwner("jessica").orElseThrow();
+
+        // Then
+        assertThat(view.getSpotNumber()).isEqualTo("801-B");
+        assertThat(view.getCar()).isNull();
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.parkingcontrol.repositories;
+
+import com.example.parkingcontrol.configs.ReactiveReadConfig;
+import com.example.parkingcontrol.handlers.CarHandler;
+import com.example.parkingcontrol.handlers.ParkingSpotHandler;
+import com.example.parkingcontrol.models.ParkingSpotModel;
+import com.example.parkingcontrol.services.ChangeCounter;
+import io.r2dbc.spi.ConnectionFactories;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+
+import static com.example.parkingcontrol.models.ModelFixtures.newParkingSpot;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the R2DBC lookups against the schema Hibernate generates, so both paths are checked against the same tables.
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reactivereads;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.password="
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReactiveRepositoriesTest {
+    @Autowired
+    ParkingSpotRepository parkingSpotRepository;
+
+    @Autowired
+    CarRepository carRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    private ReactiveCarRepository reactiveCarRepository;
+
+    private ReactiveParkingSpotRepository reactiveParkingSpotRepository;
+
+    private DatabaseClient databaseClient;
+
+    private ParkingSpotModel parkingSpot;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient = DatabaseClient.create(
+                ConnectionFactories.get("r2dbc:h2:mem://sa@/reactivereads;DB_CLOSE_DELAY=-1"));
+        reactiveCarRepository = new ReactiveCarRepository(databaseClient);
+        reactiveParkingSpotRepository = new ReactiveParkingSpotRepository(databaseClient);
+
+        parkingSpot = parkingSpotRepository.save(newParkingSpot("701-A", "701", "I", "ABC-1234"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        carRepository.deleteAll();
+        parkingSpotRepository.deleteAll();
+    }
+
+    @Test
+    void shouldFindCarByLicensePlateWithItsParkingSpot() {
+        StepVerifier.create(reactiveCarRepository.findViewByLicensePlate("ABC-1234"))
+                    .assertNext(car -> {
+                        assertThat(car.getId()).isEqualTo(parkingSpot.getCar().getId());
+                        assertThat(car.getParkingSpot().getId()).isEqualTo(parkingSpot.getId());
+                        assertThat(car.getParkingSpot().getRegistrationDate())
+                                .isEqualTo(LocalDateTime.parse("2022-09-03T10:15:30"));
+                    })
+                    .verifyComplete();
+    }
+
+    @Test
+    void shouldCompleteEmptyWhenCarNotFound() {
+        StepVerifier.create(reactiveCarRepository.findViewByLicensePlate("XYZ-9876")).verifyComplete();
+    }
+
+    @Test
+    void shouldFindParkingSpotBySpotNumberWithItsCar() {
+        StepVerifier.create(reactiveParkingSpotRepository.findViewBySpotNumber("701-A"))
+                    .assertNext(view -> {
+                        assertThat(view.getId()).isEqualTo(parkingSpot.getId());
+                        assertThat(view.getCar().getLicensePlate()).isEqualTo("ABC-1234");
+                        assertThat(view.getVersion()).isEqualTo(parkingSpot.getVersion());
+                        assertThat(view.getCarVersion()).isEqualTo(parkingSpot.getCar().getVersion());
+                    })
+                    .verifyComplete();
+    }
+
+    @Test
+    void shouldFindParkingSpotByOwnerIgnoringCase() {
+        StepVerifier.create(reactiveParkingSpotRepository.findViewByOwner("jade"))
+                    .assertNext(view -> assertThat(view.getSpotNumber()).isEqualTo("701-A"))
+                    .verifyComplete();
+    }
+
+    @Test
+    void shouldAnswerUnchangedLookupWithNotModified() {
+        WebTestClient webTestClient = WebTestClient.bindToRouterFunction(
+                ReactiveReadConfig.routes(new CarHandler(reactiveCarRepository),
+                                          new ParkingSpotHandler(reactiveParkingSpotRepository))
+                                  .filter(ReactiveReadConfig.conditionalGet(databaseClient))).build();
+        String etag = ChangeCounter.etag(jdbcTemplate.queryForList(ChangeCounter.SELECT, Long.class)
+                                                     .stream().findFirst().orElse(0L));
+
+        webTestClient.get().uri("/cars/license-plate?number=ABC-1234")
+                     .header(HttpHeaders.IF_NONE_MATCH, etag)
+                     .exchange()
+                     .expectStatus().isNotModified()
+                     .expectHeader().valueEquals(HttpHeaders.ETAG, etag);
+    }
+}
@@ -1,19 +1,34 @@
 package com.example.parkingcontrol.services;
 
+import com.example.parkingcontrol.dtos.CursorPageDTO;
+import com.example.parkingcontrol.exceptions.ConflictException;
 import com.example.parkingcontrol.models.CarModel;
+import com.example.parkingcontrol.projections.CarView;
 import com.example.parkingcontrol.repositories.CarRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.BeanUtils;
-
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -51,6 +66,43 @@ class CarServiceTest {
         assertThat(capturedCarModel).isEqualTo(carModel);
     }
 
+    @Test
+    void shouldSaveAllCars() {
+        // Given
+        List<CarModel> carModels = List.of(new CarModel(), new CarModel());
+
+        // When
+        underTest.saveAll(carModels);
+
+        // Then
+        verify(carRepository).saveAll(carModels);
+    }
+
+    @Test
+    void shouldTranslateLicensePlateViolationIntoConflict() {
+        // Given
+        List<CarModel> carModels = List.of(new CarModel());
+
+        // When
+        Mockito.doThrow(new DataIntegrityViolationException("could not execute statement"))
+               .when(carRepository).flush();
+
+        // Then
+        assertThatThrownBy(() -> underTest.saveAll(carModels))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("Conflict: License plate is already in use!");
+    }
+
+    @Test
+    void shouldFindExistingLicensePlates() {
+        // When
+        Set<String> licensePlates = Set.of("ABC-1234", "XYZ-9876");
+        underTest.findExistingLicensePlates(licensePlates);
+
+        // Then
+        verify(carRepository).findExistingLicensePlates(licensePlates);
+    }
+
     @Test
     void shouldFindAllCars() {
         // When
@@ -60,6 +112,47 @@ class CarServiceTest {
         verify(carRepository).findAll();
     }
 
+    @Test
+    void shouldFindFirstPageOfCars() {
+        // Given
+        CarView first = new CarView(UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c"), "ABC-1234", "Toyota",
+                                    "Etios", "Silver", 0, null, null);
+        CarView second = new CarView(UUID.fromString("4f12fd2c-96d2-4892-bf11-c02eca5b198c"), "XYZ-9876", "Audi",
+                                     "A1", "Black", 0, null, null);
+
+        // When
+        Mockito.when(carRepository.findViewPage(PageRequest.of(0, 2)))
+               .thenReturn(new SliceImpl<>(List.of(first, second), PageRequest.of(0, 2), true));
+
+        CursorPageDTO<CarView> page = underTest.findPage(null, 2);
+
+        // Then
+        assertThat(page.getContent()).isEqualTo(List.of(first, second));
+        assertThat(page.getNext()).isNotNull();
+    }
+
+    @Test
+    void shouldFindPageAfterCursor() {
+        // Given
+        UUID lastId = UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c");
+        String next = Base64.getUrlEncoder().withoutPadding().encodeToString(lastId.toString().getBytes());
+
+        // When
+        Mockito.when(carRepository.findViewPageAfter(lastId, PageRequest.of(0, 20)))
+               .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 20), false));
+
+        CursorPageDTO<CarView> page = underTest.findPage(next, 20);
+
+        // Then
+        verify(carRepository).findViewPageAfter(lastId, PageRequest.of(0, 20));
+        assertThat(page.getNext()).isNull();
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        assertThatThrownBy(() -> underTest.findPage("not-a-cursor", 20)).isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     void shouldCheckIfLicensePlateExists() {
         // When
@@ -79,6 +172,28 @@ class CarServiceTest {
         verify(carRepository).findById(id);
     }
 
+    @Test
+    void shouldFindViewById() {
+        // Given
+        EntityManager entityManager = Mockito.mock(EntityManager.class);
+        underTest.entityManager = entityManager;
+
+        UUID id = UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c");
+        CarModel carModel = new CarModel();
+        carModel.setId(id);
+        carModel.setLicensePlate("GPK-6219");
+        carModel.setVersion(2);
+
+        // When
+        Mockito.when(entityManager.find(CarModel.class, id)).thenReturn(carModel);
+        CarView carView = underTest.findViewById(id).orElseThrow();
+
+        // Then
+        assertThat(carView.getLicensePlate()).isEqualTo("GPK-6219");
+        assertThat(carView.getVersion()).isEqualTo(2);
+        assertThat(carView.getParkingSpot()).isNull();
+    }
+
     @Test
     void shouldFindByLicensePlate() {
         // When
@@ -86,7 +201,7 @@ class CarServiceTest {
         underTest.findByLicensePlate(licensePlate);
 
         // Then
-        verify(carRepository).findByLicensePlate(licensePlate);
+        verify(carRepository).findViewByLicensePlate(licensePlate);
     }
 
     @Test
@@ -149,6 +264,26 @@ class CarServiceTest {
         assertThat(capturedCar).usingRecursiveComparison().isEqualTo(carUpdateRequest);
     }
 
+    @Test
+    void shouldExportAllAndClearPersistenceContext() {
+        // Given
+        EntityManager entityManager = Mockito.mock(EntityManager.class);
+        underTest.entityManager = entityManager;
+
+        CarModel first = new CarModel();
+        CarModel second = new CarModel();
+        List<CarModel> exported = new ArrayList<>();
+
+        // When
+        Mockito.when(carRepository.streamAll()).thenReturn(Stream.of(first, second));
+
+        underTest.exportAll(exported::add);
+
+        // Then
+        assertThat(exported).isEqualTo(List.of(first, second));
+        verify(entityManager, times(2)).clear();
+    }
+
     @Test
     void shouldFindByIdAndDelete() {
         // WHen
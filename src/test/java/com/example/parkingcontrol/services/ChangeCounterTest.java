@@ -0,0 +1,108 @@
+package com.example.parkingcontrol.services;
+
+import com.example.parkingcontrol.repositories.CarRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.SQLException;
+import java.util.List;
+
+import static com.example.parkingcontrol.models.ModelFixtures.newCar;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({ChangeCounter.class, CarService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ChangeCounterTest {
+    @Autowired
+    ChangeCounter underTest;
+
+    @Autowired
+    CarService carService;
+
+    @Autowired
+    CarRepository carRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        carRepository.deleteAll();
+    }
+
+    @Test
+    void shouldCountCommittedTransactionOnce() {
+        // Given
+        long changes = changes();
+
+        // When
+        carService.saveAll(List.of(newCar("ABC-1234"), newCar("ABC-1235"), newCar("ABC-1236")));
+
+        // Then
+        assertThat(underTest.etag()).isEqualTo(ChangeCounter.etag(changes + 1));
+    }
+
+    @Test
+    void shouldShareCountWithOtherInstances() {
+        // Given
+        ChangeCounter otherInstance = new ChangeCounter(jdbcTemplate, transactionManager);
+        String etag = otherInstance.etag();
+
+        // When
+        carService.save(newCar("ABC-1234"));
+
+        // Then
+        assertThat(otherInstance.etag()).isNotEqualTo(etag).isEqualTo(underTest.etag());
+    }
+
+    @Test
+    void shouldNotCountRolledBackTransaction() {
+        // Given
+        String etag = underTest.etag();
+
+        // When
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            carRepository.saveAndFlush(newCar("ABC-1234"));
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertThat(underTest.etag()).isEqualTo(etag);
+    }
+
+    @Test
+    void shouldRollBackWriteWhenCountFails() {
+        // Given
+        jdbcTemplate.execute("alter table change_counter rename to change_counter_unavailable");
+
+        // When
+        try {
+            assertThatThrownBy(() -> carService.save(newCar("ABC-1234")))
+                    .hasRootCauseInstanceOf(SQLException.class);
+        } finally {
+            jdbcTemplate.execute("alter table change_counter_unavailable rename to change_counter");
+        }
+
+        // Then
+        assertThat(carRepository.count()).isZero();
+    }
+
+    private long changes() {
+        List<Long> changes = jdbcTemplate.queryForList(ChangeCounter.SELECT, Long.class);
+
+        return changes.isEmpty() ? 0 : changes.get(0);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.parkingcontrol.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class IndexReconcilerTest {
+    @Mock
+    ChangeCounter changeCounter;
+
+    @Mock
+    OccupancyIndex occupancyIndex;
+
+    @Mock
+    OwnerIndex ownerIndex;
+
+    private IndexReconciler underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new IndexReconciler(changeCounter, occupancyIndex, ownerIndex, Duration.ofSeconds(30));
+    }
+
+    @Test
+    void shouldReconcileOnlyWhenChangesWereCounted() {
+        // Given
+        Mockito.when(changeCounter.changes()).thenReturn(4L, 4L, 5L);
+
+        // When
+        underTest.reconcileIfChanged();
+        underTest.reconcileIfChanged();
+        underTest.reconcileIfChanged();
+
+        // Then
+        verify(occupancyIndex, times(2)).reconcile();
+        verify(ownerIndex, times(2)).reconcile();
+    }
+}
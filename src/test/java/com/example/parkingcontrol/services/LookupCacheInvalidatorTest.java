@@ -0,0 +1,167 @@
+package com.example.parkingcontrol.services;
+
+import com.example.parkingcontrol.configs.CacheConfig;
+import com.example.parkingcontrol.events.CarChangedEvent;
+import com.example.parkingcontrol.events.ChangeType;
+import com.example.parkingcontrol.events.ParkingSpotChangedEvent;
+import com.example.parkingcontrol.models.CarModel;
+import com.example.parkingcontrol.models.ParkingSpotModel;
+import com.example.parkingcontrol.projections.CarView;
+import com.example.parkingcontrol.projections.ParkingSpotView;
+import com.example.parkingcontrol.repositories.CarRepository;
+import com.example.parkingcontrol.repositories.ParkingSpotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.junit.jupiter.SpringJUnitConfig;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@SpringJUnitConfig({CacheConfig.class, CarService.class, ParkingSpotService.class, LookupCacheInvalidator.class})
+class LookupCacheInvalidatorTest {
+    @MockBean
+    EntityManagerFactory entityManagerFactory;
+
+    @MockBean
+    CarRepository carRepository;
+
+    @MockBean
+    ParkingSpotRepository parkingSpotRepository;
+
+    @Autowired
+    CarService carService;
+
+    @Autowired
+    ParkingSpotService parkingSpotService;
+
+    @Autowired
+    LookupCacheInvalidator underTest;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    private CarModel carModel;
+
+    private ParkingSpotModel parkingSpot;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+
+        carModel = new CarModel();
+        carModel.setId(UUID.fromString("3e01ec1b-85c1-4892-bf11-c02eca5b198c"));
+        carModel.setLicensePlate("ABC-1234");
+
+        parkingSpot = new ParkingSpotModel();
+        parkingSpot.setId(UUID.fromString("0a96e04e-b60f-4b69-9524-e221cf341ccb"));
+        parkingSpot.setSpotNumber("701-A");
+        parkingSpot.setCar(carModel);
+
+        CarView carView = new CarView(carModel.getId(), "ABC-1234", null, null, null, 0, parkingSpot.getId(),
+                                      "701-A", null, null, null, null, 0L);
+        ParkingSpotView parkingSpotView = new ParkingSpotView(parkingSpot.getId(), "701-A", null, null, null, null, 0,
+                                                              carModel.getId(), "ABC-1234", null, null, null, 0L);
+
+        Mockito.when(carRepository.findViewByLicensePlate("ABC-1234")).thenReturn(Optional.of(carView));
+        Mockito.when(parkingSpotRepository.findViewBySpotNumber("701-A")).thenReturn(Optional.of(parkingSpotView));
+    }
+
+    @Test
+    void shouldServeRepeatedLookupsFromCache() {
+        // When
+        carService.findByLicensePlate("ABC-1234");
+        carService.findByLicensePlate("ABC-1234");
+        parkingSpotService.findBySpotNumber("701-A");
+        parkingSpotService.findBySpotNumber("701-A");
+
+        // Then
+        verify(carRepository, times(1)).findViewByLicensePlate("ABC-1234");
+        verify(parkingSpotRepository, times(1)).findViewBySpotNumber("701-A");
+    }
+
+    @Test
+    void shouldCacheMissingLookupsUntilCreated() {
+        // Given
+        Mockito.when(carRepository.findViewByLicensePlate("XYZ-9876")).thenReturn(Optional.empty());
+        carService.findByLicensePlate("XYZ-9876");
+
+        // When
+        underTest.onCarChanged(new CarChangedEvent(ChangeType.CREATED, UUID.randomUUID(), "XYZ-9876", null, null,
+                                                   null));
+        carService.findByLicensePlate("XYZ-9876");
+
+        // Then
+        verify(carRepository, times(2)).findViewByLicensePlate("XYZ-9876");
+    }
+
+    @Test
+    void shouldEvictCarAndItsParkingSpotWhenCarChanges() {
+        // Given
+        carService.findByLicensePlate("ABC-1234");
+        parkingSpotService.findBySpotNumber("701-A");
+
+        // When
+        underTest.onCarChanged(new CarChangedEvent(ChangeType.UPDATED, carModel.getId(), "NEW-1234", "ABC-1234",
+                                                   parkingSpot.getId(), "701-A"));
+        carService.findByLicensePlate("ABC-1234");
+        parkingSpotService.findBySpotNumber("701-A");
+
+        // Then
+        verify(carRepository, times(2)).findViewByLicensePlate("ABC-1234");
+        verify(parkingSpotRepository, times(2)).findViewBySpotNumber("701-A");
+    }
+
+    @Test
+    void shouldEvictParkingSpotAndItsCarWhenParkingSpotIsDeleted() {
+        // Given
+        carService.findByLicensePlate("ABC-1234");
+        parkingSpotService.findBySpotNumber("701-A");
+
+        // When
+        underTest.onParkingSpotChanged(ParkingSpotChangedEvent.of(ChangeType.DELETED, parkingSpot));
+        carService.findByLicensePlate("ABC-1234");
+        parkingSpotService.findBySpotNumber("701-A");
+
+        // Then
+        verify(carRepository, times(2)).findViewByLicensePlate("ABC-1234");
+        verify(parkingSpotRepository, times(2)).findViewBySpotNumber("701-A");
+    }
+
+    @Test
+    void shouldNotPutBackLookupReadBeforeEviction() {
+        // Given
+        Cache cache = cacheManager.getCache(CacheConfig.CARS_BY_LICENSE_PLATE);
+        assertThat(cache.get("ABC-1234")).isNull();
+
+        // When
+        underTest.onCarChanged(CarChangedEvent.of(ChangeType.UPDATED, carModel));
+        cache.put("ABC-1234", Optional.empty());
+
+        // Then
+        assertThat(cache.get("ABC-1234")).isNull();
+    }
+
+    @Test
+    void shouldKeepUnrelatedEntries() {
+        // Given
+        carService.findByLicensePlate("ABC-1234");
+
+        // When
+        underTest.onParkingSpotChanged(new ParkingSpotChangedEvent(ChangeType.UPDATED, UUID.randomUUID(), "702-B",
+                                                                   "702-B", null, "Jade", "702", "B", null, null));
+        carService.findByLicensePlate("ABC-1234");
+
+        // Then
+        verify(carRepository, times(1)).findViewByLicensePlate("ABC-1234");
+    }
+}
@@ -0,0 +1,216 @@
+package com.example.parkingcontrol.services;
+
+import com.example.parkingcontrol.dtos.BlockOccupancyDTO;
+import com.example.parkingcontrol.dtos.OccupancyDTO;
+import com.example.parkingcontrol.events.CarChangedEvent;
+import com.example.parkingcontrol.events.ChangeType;
+import com.example.parkingcontrol.events.OccupancyChangedEvent;
+import com.example.parkingcontrol.events.ParkingSpotChangedEvent;
+import com.example.parkingcontrol.models.ParkingSpotModel;
+import com.example.parkingcontrol.repositories.CarRepository;
+import com.example.parkingcontrol.repositories.ParkingSpotRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static com.example.parkingcontrol.models.ModelFixtures.newCar;
+import static com.example.parkingcontrol.models.ModelFixtures.newParkingSpot;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest
+@Import({OccupancyIndex.class, ParkingSpotService.class, CarService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RecordApplicationEvents
+class OccupancyIndexTest {
+    @Autowired
+    OccupancyIndex underTest;
+
+    @Autowired
+    ParkingSpotService parkingSpotService;
+
+    @Autowired
+    CarService carService;
+
+    @Autowired
+    ParkingSpotRepository parkingSpotRepository;
+
+    @Autowired
+    CarRepository carRepository;
+
+    @Autowired
+    ApplicationEvents applicationEvents;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        carRepository.deleteAll();
+        parkingSpotRepository.deleteAll();
+        underTest.rebuild();
+    }
+
+    @Test
+    void shouldFollowCommittedParkingSpotsAndCars() {
+        // Given
+        parkingSpotService.save(newParkingSpot("701-A", "701", "A", "ABC-1234"));
+        ParkingSpotModel parkingSpot = parkingSpotService.save(newParkingSpot("702-A", "702", "A"));
+        parkingSpotService.save(newParkingSpot("801-B", "801", "B"));
+
+        // When
+        OccupancyDTO occupancy = underTest.snapshot();
+
+        // Then
+        assertThat(occupancy.getTotal()).isEqualTo(3);
+        assertThat(occupancy.getFree()).isEqualTo(2);
+        assertThat(occupancy.getBlocks()).extracting(BlockOccupancyDTO::getBlock).containsExactly("A", "B");
+        assertThat(underTest.snapshot("A").orElseThrow().getFreeSpots()).containsExactly("702-A");
+
+        // When
+        parkingSpot.setCar(newCar("XYZ-9876"));
+        parkingSpot.getCar().setParkingSpot(parkingSpot);
+        parkingSpotService.save(parkingSpot);
+
+        // Then
+        assertThat(underTest.snapshot("A").orElseThrow().getFree()).isZero();
+
+        // When
+        parkingSpotService.delete(parkingSpot.getId());
+
+        // Then
+        BlockOccupancyDTO blockA = underTest.snapshot("A").orElseThrow();
+        assertThat(blockA.getTotal()).isEqualTo(1);
+        assertThat(blockA.getOccupied()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldPublishEachOccupancyChange() {
+        // Given
+        ParkingSpotModel parkingSpot = parkingSpotService.save(newParkingSpot("701-A", "701", "A", "ABC-1234"));
+
+        // When
+        carService.delete(parkingSpot.getCar().getId());
+        parkingSpotService.delete(parkingSpot.getId());
+
+        // Then
+        assertThat(applicationEvents.stream(OccupancyChangedEvent.class))
+                .extracting(OccupancyChangedEvent::getType)
+                .containsExactly(OccupancyChangedEvent.Type.SPOT_CREATED, OccupancyChangedEvent.Type.CAR_ASSIGNED,
+                                 OccupancyChangedEvent.Type.CAR_REMOVED, OccupancyChangedEvent.Type.SPOT_DELETED);
+    }
+
+    @Test
+    void shouldMatchTheDatabaseAfterRebuild() {
+        // Given
+        parkingSpotService.save(newParkingSpot("701-A", "701", "A", "ABC-1234"));
+        parkingSpotService.save(newParkingSpot("702-A", "702", "A"));
+
+        // When
+        underTest.rebuild();
+
+        // Then
+        BlockOccupancyDTO blockA = underTest.snapshot("A").orElseThrow();
+        assertThat(blockA.getTotal()).isEqualTo(2);
+        assertThat(blockA.getFreeSpots()).containsExactly("702-A");
+    }
+
+    @Test
+    void shouldFreeTheFormerSpotWhenACarMoves() {
+        // Given
+        UUID firstSpot = UUID.randomUUID();
+        UUID secondSpot = UUID.randomUUID();
+        UUID carId = UUID.randomUUID();
+        underTest.onParkingSpotChanged(parkingSpotEvent(ChangeType.CREATED, firstSpot, "901-C", "C", null));
+        underTest.onParkingSpotChanged(parkingSpotEvent(ChangeType.CREATED, secondSpot, "902-C", "C", null));
+        underTest.onCarChanged(new CarChangedEvent(ChangeType.CREATED, carId, "ABC-1234", null, firstSpot, null));
+
+        // When
+        underTest.onCarChanged(new CarChangedEvent(ChangeType.UPDATED, carId, "ABC-1234", null, secondSpot, null));
+
+        // Then
+        assertThat(underTest.snapshot("C").orElseThrow().getFreeSpots()).containsExactly("901-C");
+
+        // When
+        underTest.onCarChanged(new CarChangedEvent(ChangeType.DELETED, carId, "ABC-1234", null, secondSpot, null));
+
+        // Then
+        assertThat(underTest.snapshot("C").orElseThrow().getFreeSpots()).containsExactly("901-C", "902-C");
+    }
+
+    @Test
+    void shouldKeepSpotMarkedOccupiedUntilItsCarLeaves() {
+        // Given
+        UUID id = UUID.randomUUID();
+        underTest.onParkingSpotChanged(parkingSpotEvent(ChangeType.CREATED, id, "901-C", "C", null));
+        assertThat(underTest.claimFreeSpot("C")).contains(id);
+
+        // When
+        underTest.markOccupied(id);
+
+        // Then
+        assertThat(underTest.claimFreeSpot("C")).isEmpty();
+        assertThat(underTest.snapshot("C").orElseThrow().getOccupied()).isEqualTo(1);
+
+        // When
+        underTest.onCarChanged(new CarChangedEvent(ChangeType.DELETED, UUID.randomUUID(), "ABC-1234", null, id,
+                                                   "901-C"));
+
+        // Then
+        assertThat(underTest.claimFreeSpot("C")).contains(id);
+    }
+
+    @Test
+    void shouldReconcileWritesItDidNotSeeAndKeepClaims() {
+        // Given
+        ParkingSpotModel claimed = parkingSpotService.save(newParkingSpot("901-C", "901", "C"));
+        ParkingSpotModel taken = parkingSpotService.save(newParkingSpot("902-C", "902", "C"));
+        ParkingSpotModel deleted = parkingSpotService.save(newParkingSpot("903-C", "903", "C"));
+        UUID carId = carService.save(newCar("ABC-1234")).getId();
+        assertThat(underTest.claimFreeSpot("C")).contains(claimed.getId());
+        jdbcTemplate.update("update car set parking_spot_id = ? where id = ?", taken.getId(), carId);
+        jdbcTemplate.update("delete from parking_spot where id = ?", deleted.getId());
+
+        // When
+        underTest.reconcile();
+
+        // Then
+        BlockOccupancyDTO block = underTest.snapshot("C").orElseThrow();
+        assertThat(block.getTotal()).isEqualTo(2);
+        assertThat(block.getFreeSpots()).containsExactly("901-C");
+        assertThat(underTest.claimFreeSpot("C")).isEmpty();
+        assertThat(applicationEvents.stream(OccupancyChangedEvent.class).skip(3))
+                .extracting(OccupancyChangedEvent::getType)
+                .containsExactlyInAnyOrder(OccupancyChangedEvent.Type.CAR_ASSIGNED,
+                                           OccupancyChangedEvent.Type.SPOT_DELETED);
+    }
+
+    @Test
+    void shouldMoveParkingSpotToItsNewBlock() {
+        // Given
+        UUID id = UUID.randomUUID();
+        underTest.onParkingSpotChanged(parkingSpotEvent(ChangeType.CREATED, id, "901-C", "C", null));
+
+        // When
+        underTest.onParkingSpotChanged(parkingSpotEvent(ChangeType.UPDATED, id, "901-D", "D", UUID.randomUUID()));
+
+        // Then
+        assertThat(underTest.snapshot("C")).isEmpty();
+        assertThat(underTest.snapshot("D").orElseThrow().getOccupied()).isEqualTo(1);
+    }
+
+    private static ParkingSpotChangedEvent parkingSpotEvent(ChangeType type, UUID id, String spotNumber, String block,
+                                                            UUID carId) {
+        return new ParkingSpotChangedEvent(type, id, spotNumber, null, LocalDateTime.parse("2022-09-03T10:15:30"),
+                                           "Jade", spotNumber.substring(0, 3), block, carId, null);
+    }
+}
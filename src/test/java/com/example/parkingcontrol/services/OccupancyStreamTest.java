@@ -0,0 +1,114 @@
+package com.example.parkingcontrol.services;
+
+import com.example.parkingcontrol.controllers.ParkingSpotController;
+import com.example.parkingcontrol.dtos.BlockOccupancyDTO;
+import com.example.parkingcontrol.dtos.OccupancyDTO;
+import com.example.parkingcontrol.events.OccupancyChangedEvent;
+import com.example.parkingcontrol.mappers.CarMapperImpl;
+import com.example.parkingcontrol.mappers.ParkingSpotMapperImpl;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.Predicate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@WebMvcTest(value = ParkingSpotController.class,
+            properties = "parking-control.occupancy-stream.buffer-size=2")
+@Import({OccupancyStream.class, OptimisticRetry.class, ParkingSpotMapperImpl.class, CarMapperImpl.class})
+@ActiveProfiles("test")
+class OccupancyStreamTest {
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    OccupancyStream underTest;
+
+    @MockBean
+    ParkingSpotService parkingSpotService;
+
+    @MockBean
+    CarService carService;
+
+    @MockBean
+    OccupancyIndex occupancyIndex;
+
+    @MockBean
+    OwnerIndex ownerIndex;
+
+    @MockBean
+    SpotAllocator spotAllocator;
+
+    private final OccupancyDTO occupancy = new OccupancyDTO(List.of(
+            new BlockOccupancyDTO("A", 1, 0, List.of("701-A"))));
+
+    @Test
+    void shouldStreamSnapshotAndThenChanges() throws Exception {
+        // Given
+        Mockito.when(occupancyIndex.snapshot()).thenReturn(occupancy);
+        MockHttpServletResponse response = subscribe();
+        awaitContent(response, content -> content.contains("event:snapshot"));
+
+        // When
+        underTest.onOccupancyChanged(new OccupancyChangedEvent(OccupancyChangedEvent.Type.CAR_ASSIGNED,
+                                                               UUID.randomUUID(), "701-A", "A"));
+
+        // Then
+        String content = awaitContent(response, text -> text.contains("event:CAR_ASSIGNED") && text.endsWith("\n\n"));
+        assertThat(content).contains("\"spotNumber\":\"701-A\"");
+    }
+
+    @Test
+    void shouldReplaceOverflowingChangesWithSnapshotInsteadOfBlocking() throws Exception {
+        // Given
+        CountDownLatch firstSnapshot = new CountDownLatch(1);
+        Mockito.when(occupancyIndex.snapshot()).thenAnswer(invocation -> {
+            firstSnapshot.await();
+            return occupancy;
+        });
+        MockHttpServletResponse response = subscribe();
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            underTest.onOccupancyChanged(new OccupancyChangedEvent(OccupancyChangedEvent.Type.SPOT_CREATED,
+                                                                   UUID.randomUUID(), "70" + i + "-A", "A"));
+        }
+        firstSnapshot.countDown();
+
+        // Then
+        String content = awaitContent(response, text -> text.split("event:snapshot", -1).length == 3);
+        assertThat(content).doesNotContain("event:SPOT_CREATED");
+    }
+
+    private MockHttpServletResponse subscribe() throws Exception {
+        return mockMvc.perform(get("/parking-spot/occupancy/stream"))
+                      .andExpect(request().asyncStarted())
+                      .andReturn()
+                      .getResponse();
+    }
+
+    private static String awaitContent(MockHttpServletResponse response, Predicate<String> condition)
+            throws Exception {
+        for (int i = 0; i < 100; i++) {
+            String content = response.getContentAsString();
+            if (condition.test(content)) {
+                return content;
+            }
+            Thread.sleep(50);
+        }
+
+        throw new AssertionError("Stream did not reach the expected state: " + response.getContentAsString());
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.parkingcontrol.services;
+
+import com.example.parkingcontrol.models.CarModel;
+import com.example.parkingcontrol.repositories.CarRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.example.parkingcontrol.models.ModelFixtures.newCar;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "parking-control.optimistic-retry.max-attempts=3")
+@Import({OptimisticRetry.class, CarService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class OptimisticRetryTest {
+    @Autowired
+    OptimisticRetry underTest;
+
+    @Autowired
+    CarService carService;
+
+    @Autowired
+    CarRepository carRepository;
+
+    @AfterEach
+    void tearDown() {
+        carRepository.deleteAll();
+    }
+
+    @Test
+    void shouldRejectUpdateBasedOnStaleRead() {
+        // Given
+        UUID id = carService.save(newCar("ABC-1234")).getId();
+        CarModel first = carService.findById(id).orElseThrow();
+        CarModel second = carService.findById(id).orElseThrow();
+
+        // When
+        first.setColor("Black");
+        carService.save(first);
+        second.setColor("White");
+
+        // Then
+        assertThatThrownBy(() -> carService.save(second)).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(carService.findById(id).orElseThrow().getColor()).isEqualTo("Black");
+    }
+
+    @Test
+    void shouldApplyChangeOnTopOfConcurrentUpdate() {
+        // Given
+        UUID id = carService.save(newCar("ABC-1234")).getId();
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When
+        CarModel updated = underTest.execute(() -> {
+            CarModel car = carService.findById(id).orElseThrow();
+            if (attempts.incrementAndGet() == 1) {
+                CarModel concurrent = carService.findById(id).orElseThrow();
+                concurrent.setBrand("Audi");
+                carService.save(concurrent);
+            }
+            car.setColor("Black");
+
+            return carService.save(car);
+        });
+
+        // Then
+        assertThat(attempts).hasValue(2);
+        assertThat(updated.getVersion()).isEqualTo(2);
+        CarModel stored = carService.findById(id).orElseThrow();
+        assertThat(stored.getBrand()).isEqualTo("Audi");
+        assertThat(stored.getColor()).isEqualTo("Black");
+    }
+
+    @Test
+    void shouldGiveUpAfterMaxAttempts() {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+
+        // When, Then
+        assertThatThrownBy(() -> underTest.execute(() -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException(CarModel.class, UUID.randomUUID());
+        })).isInstanceOf(ObjectOptimisticLockingFailureException.class);
+        assertThat(attempts).hasValue(3);
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.parkingcontrol.services;
+
+import com.example.parkingcontrol.events.ChangeType;
+import com.example.parkingcontrol.events.ParkingSpotChangedEvent;
+import com.example.parkingcontrol.projections.CarView.ParkingSpotSummary;
+import com.example.parkingcontrol.projections.ParkingSpotView;
+import com.example.parkingcontrol.repositories.ParkingSpotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OwnerIndexTest {
+    private OwnerIndex underTest;
+
+    private ParkingSpotRepository parkingSpotRepository;
+
+    private final UUID jadeId = UUID.fromString("0a96e04e-b60f-4b69-9524-e221cf341ccb");
+
+    @BeforeEach
+    void setUp() {
+        parkingSpotRepository = Mockito.mock(ParkingSpotRepository.class);
+        Mockito.when(parkingSpotRepository.findAllViews()).thenReturn(List.of(
+                newParkingSpotView(jadeId, "701-A", "Jade"),
+                newParkingSpotView(UUID.randomUUID(), "702-A", "Jaden Smith"),
+                newParkingSpotView(UUID.randomUUID(), "703-A", "jade"),
+                newParkingSpotView(UUID.randomUUID(), "704-A", "Maria")));
+
+        underTest = new OwnerIndex(parkingSpotRepository);
+        underTest.rebuild();
+    }
+
+    @Test
+    void shouldFindEverySpotOfAnOwnerIgnoringCase() {
+        // When
+        List<ParkingSpotSummary> result = underTest.findByOwner("JADE", 20);
+
+        // Then
+        assertThat(result).extracting(ParkingSpotSummary::getSpotNumber).containsExactlyInAnyOrder("701-A", "703-A");
+    }
+
+    @Test
+    void shouldFindOwnersByPrefixInOwnerOrder() {
+        // When
+        List<ParkingSpotSummary> result = underTest.findByOwnerPrefix("ja", 20);
+
+        // Then
+        assertThat(result).extracting(ParkingSpotSummary::getOwner)
+                          .containsExactlyInAnyOrder("Jade", "jade", "Jaden Smith");
+        assertThat(result.get(2).getOwner()).isEqualTo("Jaden Smith");
+    }
+
+    @Test
+    void shouldStopAtLimit() {
+        assertThat(underTest.findByOwnerPrefix("", 2)).hasSize(2);
+    }
+
+    @Test
+    void shouldFollowOwnerChangesAndDeletes() {
+        // When
+        underTest.onParkingSpotChanged(newEvent(ChangeType.UPDATED, jadeId, "Paula"));
+
+        // Then
+        assertThat(underTest.findByOwner("jade", 20)).extracting(ParkingSpotSummary::getSpotNumber)
+                                                     .containsExactly("703-A");
+        assertThat(underTest.findByOwnerPrefix("pau", 20)).extracting(ParkingSpotSummary::getId)
+                                                         .containsExactly(jadeId);
+
+        // When
+        underTest.onParkingSpotChanged(newEvent(ChangeType.DELETED, jadeId, "Paula"));
+
+        // Then
+        assertThat(underTest.findByOwnerPrefix("pau", 20)).isEmpty();
+    }
+
+    @Test
+    void shouldReconcileWithDatabase() {
+        // Given
+        Mockito.when(parkingSpotRepository.findAllViews()).thenReturn(List.of(
+                newParkingSpotView(jadeId, "701-A", "Paula"),
+                newParkingSpotView(UUID.randomUUID(), "705-A", "Jade")));
+
+        // When
+        underTest.reconcile();
+
+        // Then
+        assertThat(underTest.findByOwnerPrefix("", 20)).extracting(ParkingSpotSummary::getSpotNumber)
+                                                      .containsExactly("705-A", "701-A");
+        assertThat(underTest.findByOwner("paula", 20)).extracting(ParkingSpotSummary::getId)
+                                                      .containsExactly(jadeId);
+    }
+
+    private static ParkingSpotChangedEvent newEvent(ChangeType type, UUID id, String owner) {
+        return new ParkingSpotChangedEvent(type, id, "701-A", null, LocalDateTime.parse("2022-09-03T10:15:30"), owner,
+                                           "701", "A", null, null);
+    }
+
+    private static ParkingSpotView newParkingSpotView(UUID id, String spotNumber, String owner) {
+        return new ParkingSpotView(id, spotNumber, LocalDateTime.parse("2022-09-03T10:15:30"), owner,
+                                   spotNumber.substring(0, 3), "A", 0, null, null);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.parkingcontrol.services;
+
+import com.example.parkingcontrol.models.ParkingSessionEventModel;
+import com.example.parkingcontrol.models.SessionEventType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ParkingSessionLedgerTest {
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("delete from parking_session_event");
+    }
+
+    @Test
+    void shouldWriteEveryQueuedEventBeforeStopping() {
+        // Given
+        ParkingSessionLedger underTest = new ParkingSessionLedger(jdbcTemplate, transactionManager, 10_000, 500);
+        underTest.start();
+
+        // When
+        for (int i = 0; i < 20; i++) {
+            assertThat(underTest.offer(newEvents(100))).isTrue();
+        }
+        underTest.stop();
+
+        // Then
+        assertThat(count()).isEqualTo(2000);
+        assertThat(jdbcTemplate.queryForObject(
+                "select count(distinct id) from parking_session_event where recorded_at is not null", Integer.class))
+                .isEqualTo(2000);
+    }
+
+    @Test
+    void shouldRetryBatchThatFailedToWrite() throws Exception {
+        // Given
+        JdbcTemplate failingOnce = Mockito.spy(jdbcTemplate);
+        Mockito.doThrow(new DataAccessResourceFailureException("Connection refused"))
+               .doCallRealMethod()
+               .when(failingOnce).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+        ParkingSessionLedger underTest = new ParkingSessionLedger(failingOnce, transactionManager, 10_000, 500);
+        underTest.start();
+
+        // When
+        assertThat(underTest.offer(newEvents(100))).isTrue();
+
+        // Then
+        for (int i = 0; i < 100 && count() < 100; i++) {
+            Thread.sleep(50);
+        }
+        underTest.stop();
+        assertThat(count()).isEqualTo(100);
+        verify(failingOnce, atLeast(2)).batchUpdate(anyString(), anyCollection(), anyInt(), any());
+    }
+
+    @Test
+    void shouldRefuseWholeBatchThatDoesNotFit() {
+        // Given
+        ParkingSessionLedger underTest = new ParkingSessionLedger(jdbcTemplate, transactionManager, 3, 500);
+        List<ParkingSessionEventModel> events = newEvents(4);
+
+        // When
+        underTest.start();
+        boolean accepted = underTest.offer(events);
+        underTest.stop();
+
+        // Then
+        assertThat(accepted).isFalse();
+        assertThat(events).allMatch(event -> event.getId() == null);
+        assertThat(count()).isZero();
+    }
+
+    @Test
+    void shouldRefuseEventsWhenNotRunning() {
+        // Given
+        ParkingSessionLedger underTest = new ParkingSessionLedger(jdbcTemplate, transactionManager, 10, 500);
+
+        // When
+        boolean accepted = underTest.offer(newEvents(1));
+
+        // Then
+        assertThat(accepted).isFalse();
+    }
+
+    private int count() {
+        return jdbcTemplate.queryForObject("select count(*) from parking_session_event", Integer.class);
+    }
+
+    private static List<ParkingSessionEventModel> newEvents(int size) {
+        List<ParkingSessionEventModel> events = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            ParkingSessionEventModel event = new ParkingSessionEventModel();
+            event.setLicensePlate("ABC-1234");
+            event.setSpotNumber("701-A");
+            event.setGate("north");
+            event.setType(i % 2 == 0 ? SessionEventType.ENTRY : SessionEventType.EXIT);
+            event.setOccurredAt(LocalDateTime.parse("2022-09-03T10:15:30").plusSeconds(i));
+            events.add(event);
+        }
+
+        return events;
+    }
+}
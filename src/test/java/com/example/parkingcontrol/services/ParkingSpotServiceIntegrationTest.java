@@ -0,0 +1,65 @@
+package com.example.parkingcontrol.services;
+
+import com.example.parkingcontrol.exceptions.ConflictException;
+import com.example.parkingcontrol.models.ParkingSpotModel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+
+
+import static com.example.parkingcontrol.models.ModelFixtures.newParkingSpot;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import(ParkingSpotService.class)
+class ParkingSpotServiceIntegrationTest {
+    @Autowired
+    ParkingSpotService underTest;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        underTest.save(newParkingSpot("701-A", "701", "I"));
+    }
+
+    @Test
+    void shouldTranslateDuplicateSpotNumberIntoConflict() {
+        assertThatThrownBy(() -> underTest.save(newParkingSpot("701-A", "702", "I")))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("Conflict: Parking Spot is already in use!");
+    }
+
+    @Test
+    void shouldTranslateDuplicateApartmentAndBlockIntoConflict() {
+        assertThatThrownBy(() -> underTest.save(newParkingSpot("702-A", "701", "I")))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("Conflict: Parking Spot is already registered for this apartment and block!");
+    }
+
+    @Test
+    @DirtiesContext
+    void shouldTranslateDuplicateSpotNumberIntoConflictWithLegacyConstraint() {
+        jdbcTemplate.execute("alter table parking_spot drop constraint " + ParkingSpotModel.SPOT_NUMBER_CONSTRAINT);
+        jdbcTemplate.execute("alter table parking_spot add constraint " + ParkingSpotModel.LEGACY_SPOT_NUMBER_CONSTRAINT
+                             + " unique (spot_number)");
+
+        assertThatThrownBy(() -> underTest.save(newParkingSpot("701-A", "702", "I")))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("Conflict: Parking Spot is already in use!");
+    }
+
+    @Test
+    void shouldTranslateDuplicateLicensePlateIntoConflict() {
+        underTest.save(newParkingSpot("702-A", "702", "I", "ABC-1234"));
+
+        assertThatThrownBy(() -> underTest.save(newParkingSpot("703-A", "703", "I", "ABC-1234")))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("Conflict: Parking Spot conflicts with existing data!");
+    }
+}
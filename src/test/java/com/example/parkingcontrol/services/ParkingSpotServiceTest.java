@@ -1,21 +1,38 @@
 package com.example.parkingcontrol.services;
 
 
+import com.example.parkingcontrol.dtos.CursorPageDTO;
+import com.example.parkingcontrol.exceptions.ConflictException;
+import com.example.parkingcontrol.models.CarModel;
 import com.example.parkingcontrol.models.ParkingSpotModel;
+import com.example.parkingcontrol.projections.ParkingSpotView;
 import com.example.parkingcontrol.repositories.ParkingSpotRepository;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.BeanUtils;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.SliceImpl;
 
+import javax.persistence.EntityManager;
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 @ExtendWith(MockitoExtension.class)
@@ -54,21 +71,51 @@ class ParkingSpotServiceTest {
     }
 
     @Test
-    void shouldCheckIfSpotNumberExists() {
+    void shouldTranslateSpotNumberViolationIntoConflict() {
+        // Given
+        ParkingSpotModel parkingSpot = new ParkingSpotModel();
+
         // When
-        underTest.existsBySpotNumber(anyString());
+        Mockito.doThrow(new DataIntegrityViolationException("could not execute statement", new ConstraintViolationException(
+                "duplicate key", new SQLException(), ParkingSpotModel.SPOT_NUMBER_CONSTRAINT)))
+               .when(parkingSpotRepository).flush();
 
         // Then
-        verify(parkingSpotRepository).existsBySpotNumber(anyString());
+        assertThatThrownBy(() -> underTest.save(parkingSpot))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("Conflict: Parking Spot is already in use!");
     }
 
     @Test
-    void shouldCheckIfApartmentAndBlockExists() {
+    void shouldTranslateApartmentAndBlockViolationIntoConflict() {
+        // Given
+        ParkingSpotModel parkingSpot = new ParkingSpotModel();
+
+        // When
+        Mockito.doThrow(new DataIntegrityViolationException("could not execute statement", new ConstraintViolationException(
+                "duplicate key", new SQLException(), ParkingSpotModel.APARTMENT_AND_BLOCK_CONSTRAINT)))
+               .when(parkingSpotRepository).flush();
+
+        // Then
+        assertThatThrownBy(() -> underTest.save(parkingSpot))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("Conflict: Parking Spot is already registered for this apartment and block!");
+    }
+
+    @Test
+    void shouldTranslateOtherViolationsIntoConflict() {
+        // Given
+        ParkingSpotModel parkingSpot = new ParkingSpotModel();
+
         // When
-        underTest.existsByApartmentAndBlock(anyString(), anyString());
+        Mockito.doThrow(new DataIntegrityViolationException("could not execute statement", new ConstraintViolationException(
+                "duplicate key value violates unique constraint (spot_number)", new SQLException(), "uk_car_plate")))
+               .when(parkingSpotRepository).flush();
 
         // Then
-        verify(parkingSpotRepository).existsByApartmentAndBlock(anyString(), anyString());
+        assertThatThrownBy(() -> underTest.save(parkingSpot))
+                .isInstanceOf(ConflictException.class)
+                .hasMessage("Conflict: Parking Spot conflicts with existing data!");
     }
 
     @Test
@@ -80,6 +127,50 @@ class ParkingSpotServiceTest {
         verify(parkingSpotRepository).findAll();
     }
 
+    @Test
+    void shouldFindFirstPageOfParkingSpots() {
+        // Given
+        ParkingSpotView parkingSpot = new ParkingSpotView(UUID.fromString("0a96e04e-b60f-4b69-9524-e221cf341ccb"),
+                                                          "701-A", LocalDateTime.parse("2022-09-03T10:15:30"),
+                                                          "Jade", "701", "A", 0, null, null);
+
+        // When
+        Mockito.when(parkingSpotRepository.findViewPage(PageRequest.of(0, 1)))
+               .thenReturn(new SliceImpl<>(List.of(parkingSpot), PageRequest.of(0, 1), true));
+
+        CursorPageDTO<ParkingSpotView> page = underTest.findPage(null, 1);
+
+        // Then
+        assertThat(page.getContent()).isEqualTo(List.of(parkingSpot));
+        assertThat(page.getNext()).isNotNull();
+    }
+
+    @Test
+    void shouldFindPageAfterCursor() {
+        // Given
+        LocalDateTime registrationDate = LocalDateTime.parse("2022-09-03T10:15:30");
+        UUID lastId = UUID.fromString("0a96e04e-b60f-4b69-9524-e221cf341ccb");
+        String next = Base64.getUrlEncoder().withoutPadding()
+                            .encodeToString((registrationDate + "|" + lastId).getBytes());
+
+        // When
+        Mockito.when(parkingSpotRepository.findViewPageAfter(registrationDate, lastId, PageRequest.of(0, 20)))
+               .thenReturn(new SliceImpl<>(List.of(), PageRequest.of(0, 20), false));
+
+        CursorPageDTO<ParkingSpotView> page = underTest.findPage(next, 20);
+
+        // Then
+        verify(parkingSpotRepository).findViewPageAfter(registrationDate, lastId, PageRequest.of(0, 20));
+        assertThat(page.getNext()).isNull();
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        String next = Base64.getUrlEncoder().withoutPadding().encodeToString("yesterday|0a96e04e".getBytes());
+
+        assertThatThrownBy(() -> underTest.findPage(next, 20)).isInstanceOf(IllegalArgumentException.class);
+    }
+
     @Test
     void shouldFindParkingSpotById() {
         // When
@@ -90,6 +181,34 @@ class ParkingSpotServiceTest {
         verify(parkingSpotRepository).findById(id);
     }
 
+    @Test
+    void shouldFindParkingSpotViewById() {
+        // Given
+        EntityManager entityManager = Mockito.mock(EntityManager.class);
+        underTest.entityManager = entityManager;
+
+        UUID id = UUID.randomUUID();
+        CarModel carModel = new CarModel();
+        carModel.setId(UUID.randomUUID());
+        carModel.setLicensePlate("GPK-6219");
+        carModel.setVersion(5);
+        ParkingSpotModel parkingSpotModel = new ParkingSpotModel();
+        parkingSpotModel.setId(id);
+        parkingSpotModel.setSpotNumber("701-A");
+        parkingSpotModel.setVersion(2);
+        parkingSpotModel.setCar(carModel);
+
+        // When
+        Mockito.when(entityManager.find(ParkingSpotModel.class, id)).thenReturn(parkingSpotModel);
+        ParkingSpotView parkingSpotView = underTest.findViewById(id).orElseThrow();
+
+        // Then
+        assertThat(parkingSpotView.getSpotNumber()).isEqualTo("701-A");
+        assertThat(parkingSpotView.getVersion()).isEqualTo(2);
+        assertThat(parkingSpotView.getCar().getLicensePlate()).isEqualTo("GPK-6219");
+        assertThat(parkingSpotView.getCarVersion()).isEqualTo(5);
+    }
+
     @Test
     void shouldFindParkingSpotBySpotNumber() {
         // When
@@ -97,7 +216,7 @@ class ParkingSpotServiceTest {
         underTest.findBySpotNumber(parkingSpotNumber);
 
         // Then
-        verify(parkingSpotRepository).findBySpotNumber(parkingSpotNumber);
+        verify(parkingSpotRepository).findViewBySpotNumber(parkingSpotNumber);
     }
 
     @Test
@@ -107,7 +226,7 @@ class ParkingSpotServiceTest {
         underTest.findByApartment(apartment);
 
         // Then
-        verify(parkingSpotRepository).findByApartment(apartment);
+        verify(parkingSpotRepository).findViewByApartment(apartment);
     }
 
     @Test
@@ -117,7 +236,7 @@ class ParkingSpotServiceTest {
         underTest.findByOwner(owner);
 
         // Then
-        verify(parkingSpotRepository).findByOwnerIgnoreCase(owner);
+        verify(parkingSpotRepository).findViewByOwner(owner);
     }
 
     @Test
@@ -183,6 +302,26 @@ class ParkingSpotServiceTest {
         assertThat(capturedParkingSpot).usingRecursiveComparison().isEqualTo(parkingSpotUpdateRequest);
     }
 
+    @Test
+    void shouldExportAllAndClearPersistenceContext() {
+        // Given
+        EntityManager entityManager = Mockito.mock(EntityManager.class);
+        underTest.entityManager = entityManager;
+
+        ParkingSpotModel first = new ParkingSpotModel();
+        ParkingSpotModel second = new ParkingSpotModel();
+        List<ParkingSpotModel> exported = new ArrayList<>();
+
+        // When
+        Mockito.when(parkingSpotRepository.streamAll()).thenReturn(Stream.of(first, second));
+
+        underTest.exportAll(exported::add);
+
+        // Then
+        assertThat(exported).isEqualTo(List.of(first, second));
+        verify(entityManager, times(2)).clear();
+    }
+
     @Test
     void shouldFindByIdAndDelete() {
         // When
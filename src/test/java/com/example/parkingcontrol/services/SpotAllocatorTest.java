@@ -0,0 +1,127 @@
+package com.example.parkingcontrol.services;
+
+import com.example.parkingcontrol.exceptions.ConflictException;
+import com.example.parkingcontrol.models.ParkingSpotModel;
+import com.example.parkingcontrol.repositories.CarRepository;
+import com.example.parkingcontrol.repositories.ParkingSpotRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.example.parkingcontrol.models.ModelFixtures.newCar;
+import static com.example.parkingcontrol.models.ModelFixtures.newParkingSpot;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest
+@Import({SpotAllocator.class, OptimisticRetry.class, OccupancyIndex.class, ParkingSpotService.class, CarService.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class SpotAllocatorTest {
+    @Autowired
+    SpotAllocator underTest;
+
+    @Autowired
+    OccupancyIndex occupancyIndex;
+
+    @Autowired
+    ParkingSpotService parkingSpotService;
+
+    @Autowired
+    CarService carService;
+
+    @Autowired
+    ParkingSpotRepository parkingSpotRepository;
+
+    @Autowired
+    CarRepository carRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        carRepository.deleteAll();
+        parkingSpotRepository.deleteAll();
+        occupancyIndex.rebuild();
+    }
+
+    @Test
+    void shouldHandConcurrentAllocationsDistinctSpots() throws Exception {
+        // Given
+        for (int i = 0; i < 12; i++) {
+            parkingSpotService.save(newParkingSpot("7" + (10 + i) + "-A", "7" + (10 + i), "A"));
+        }
+        List<UUID> carIds = new ArrayList<>();
+        for (int i = 0; i < 13; i++) {
+            carIds.add(carService.save(newCar("ABC-12" + (10 + i))).getId());
+        }
+
+        // When
+        List<Future<Optional<ParkingSpotModel>>> results = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            for (UUID carId : carIds) {
+                Callable<Optional<ParkingSpotModel>> allocation = () -> underTest.allocate("A", carId);
+                results.add(executor.submit(allocation));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        List<UUID> allocated = new ArrayList<>();
+        for (Future<Optional<ParkingSpotModel>> result : results) {
+            result.get().ifPresent(parkingSpot -> allocated.add(parkingSpot.getId()));
+        }
+
+        // Then
+        assertThat(allocated).hasSize(12).doesNotHaveDuplicates();
+        assertThat(occupancyIndex.snapshot("A").orElseThrow().getFree()).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from car where parking_spot_id is not null",
+                                               Integer.class)).isEqualTo(12);
+    }
+
+    @Test
+    void shouldSkipSpotTakenBehindTheIndexAndMarkItOccupied() {
+        // Given
+        ParkingSpotModel taken = parkingSpotService.save(newParkingSpot("701-A", "701", "A"));
+        ParkingSpotModel free = parkingSpotService.save(newParkingSpot("702-A", "702", "A"));
+        UUID parkedCarId = carService.save(newCar("ABC-1234")).getId();
+        jdbcTemplate.update("update car set parking_spot_id = ? where id = ?", taken.getId(), parkedCarId);
+        UUID carId = carService.save(newCar("XYZ-9876")).getId();
+
+        // When
+        Optional<ParkingSpotModel> allocated = underTest.allocate("A", carId);
+
+        // Then
+        assertThat(allocated).map(ParkingSpotModel::getId).contains(free.getId());
+        assertThat(occupancyIndex.claimFreeSpot("A")).isEmpty();
+        assertThat(occupancyIndex.snapshot("A").orElseThrow().getOccupied()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldReleaseEveryClaimWhenAllocationFails() {
+        // Given
+        ParkingSpotModel parkingSpot = parkingSpotService.save(newParkingSpot("701-A", "701", "A"));
+
+        // When
+        assertThatThrownBy(() -> underTest.allocate("A", UUID.randomUUID()))
+                .isInstanceOf(ConflictException.class);
+
+        // Then
+        assertThat(occupancyIndex.claimFreeSpot("A")).contains(parkingSpot.getId());
+    }
+}